@@ -2,14 +2,18 @@ package com.ne.rra_vehicle_ms.auth;
 
 import com.ne.rra_vehicle_ms.auth.dtos.LoginRequestDto;
 import com.ne.rra_vehicle_ms.auth.dtos.LoginResponse;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
-import jakarta.servlet.http.HttpServletResponse;
+import com.ne.rra_vehicle_ms.commons.ratelimit.DistributedRateLimiter;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @AllArgsConstructor
 @RequestMapping("/auth")
@@ -20,16 +24,39 @@ public class AuthController {
 
 
     @PostMapping("/login")
-    @RateLimiter(name = "auth-rate-limiter")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequestDto loginRequestDto, HttpServletResponse response) {
-        var loginResult = authService.login(loginRequestDto, response);
-        return ResponseEntity.ok(new LoginResponse(loginResult.accessToken()));
+    @DistributedRateLimiter(name = "auth-rate-limiter", keys = {"#ip", "#loginRequestDto.email()"})
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@Valid @RequestBody LoginRequestDto loginRequestDto) {
+        // The response is completed from the login executor, so the cookie goes out as a header rather than through the servlet response
+        return authService.login(loginRequestDto).thenApply(tokens -> ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, refreshTokenCookie(tokens.refreshToken().toString(), Duration.ofDays(7)).toString())
+                .body(new LoginResponse(tokens.accessToken().toString())));
     }
 
     @PostMapping("/refresh")
     public ResponseEntity<LoginResponse> refresh(@CookieValue(value = "refreshToken") String refreshToken) {
-        var accessToken = authService.refreshAccessToken(refreshToken);
-        return ResponseEntity.ok(new LoginResponse(accessToken.accessToken()));
+        var tokens = authService.refreshAccessToken(refreshToken);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, refreshTokenCookie(tokens.refreshToken().toString(), Duration.ofDays(7)).toString())
+                .body(new LoginResponse(tokens.accessToken().toString()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader("Authorization") String authorization,
+                                       @CookieValue(value = "refreshToken", required = false) String refreshToken) {
+        authService.logout(authorization.substring("Bearer ".length()), refreshToken);
+        return ResponseEntity.noContent()
+                .header(HttpHeaders.SET_COOKIE, refreshTokenCookie("", Duration.ZERO).toString())
+                .build();
+    }
+
+    private static ResponseCookie refreshTokenCookie(String value, Duration maxAge) {
+        return ResponseCookie.from("refreshToken", value)
+                .httpOnly(true)
+                // Sent to /auth/refresh and /auth/logout
+                .path("/auth")
+                .maxAge(maxAge)
+                .secure(true)
+                .build();
     }
 
 }
@@ -2,66 +2,82 @@ package com.ne.rra_vehicle_ms.auth;
 
 
 import com.ne.rra_vehicle_ms.auth.dtos.LoginRequestDto;
-import com.ne.rra_vehicle_ms.auth.dtos.LoginResponse;
+import com.ne.rra_vehicle_ms.auth.exceptions.InvalidJwtException;
 import com.ne.rra_vehicle_ms.employee.entities.Employee;
-import com.ne.rra_vehicle_ms.employee.repositories.EmployeeRepository;
-import jakarta.servlet.http.Cookie;
-import jakarta.servlet.http.HttpServletResponse;
+import com.ne.rra_vehicle_ms.employee.services.EmployeeUserDetails;
 import lombok.AllArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 @Service
 @AllArgsConstructor
 public class AuthService {
     private final AuthenticationManager authenticationManager;
-    private final EmployeeRepository employeeRepository;
+    private final CurrentUserContext currentUserContext;
     private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshSessionStore refreshSessionStore;
+    private final ExecutorService loginExecutor;
 
+    // Token claims are available from CurrentUserContext directly; this loads the full employee, once per request
     public Employee getCurrentUser(){
-        var authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        var userId = (UUID) authentication.getPrincipal();
-
-        return employeeRepository.findById(userId).orElse(null);
+        return currentUserContext.getEmployee();
     }
 
-    public LoginResponse login(LoginRequestDto loginRequest, HttpServletResponse response){
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.email(),
-                        loginRequest.password()
-                )
-        );
-
-        var employee = employeeRepository.findByEmail(loginRequest.email()).orElseThrow();
+    // BCrypt runs on the login executor, so the request thread is released while the password is checked.
+    // Throws RejectedExecutionException straight away when the executor is saturated.
+    public CompletableFuture<IssuedTokens> login(LoginRequestDto loginRequest){
+        return CompletableFuture.supplyAsync(() -> {
+            var authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.email(),
+                            loginRequest.password()
+                    )
+            );
 
-        var accessToken = jwtService.generateAccessToken(employee);
-        var refreshToken = jwtService.generateRefreshToken(employee);
+            // The authenticated principal already carries every claim, so there is no second lookup
+            var subject = TokenSubject.from((EmployeeUserDetails) authentication.getPrincipal());
 
-        var cookie = new Cookie("refreshToken", refreshToken.toString());
-        cookie.setHttpOnly(true);
-        cookie.setPath("/auth/refresh");
-        cookie.setMaxAge(60 * 60 * 24 * 7); // 7 days
-        cookie.setSecure(true);
-        response.addCookie(cookie);
+            var refreshToken = jwtService.generateRefreshToken(subject);
+            refreshSessionStore.start(refreshToken, subject);
 
-        return new LoginResponse(
-                accessToken.toString()
-        );
+            return new IssuedTokens(jwtService.generateAccessToken(subject), refreshToken);
+        }, loginExecutor);
     }
 
-    public LoginResponse refreshAccessToken(String refreshToken){
+    // Rotates the refresh token: the presented one is consumed and a new one is returned with the access token
+    public IssuedTokens refreshAccessToken(String refreshToken){
         var jwt = jwtService.parseToken(refreshToken);
         if (jwt == null || jwt.isExpired()) {
             throw new BadCredentialsException("Refresh token is missing.");
         }
-        var employee = employeeRepository.findById(jwt.getUserId()).orElseThrow();
-        return new LoginResponse(jwtService.generateAccessToken(employee).toString());
+        if (tokenRevocationService.isRevoked(jwt)) {
+            throw new BadCredentialsException("Refresh token has been revoked.");
+        }
+        var session = refreshSessionStore.consume(jwt);
+
+        var rotatedRefreshToken = jwtService.generateRefreshToken(session.subject());
+        refreshSessionStore.rotate(jwt, session, rotatedRefreshToken);
+
+        return new IssuedTokens(jwtService.generateAccessToken(session.subject()), rotatedRefreshToken);
+    }
+
+    // Revokes the access token used for the call and, when sent, the refresh token
+    public void logout(String accessToken, String refreshToken){
+        tokenRevocationService.revoke(jwtService.parseToken(accessToken));
+        if (refreshToken != null) {
+            try {
+                var refreshJwt = jwtService.parseToken(refreshToken);
+                refreshSessionStore.end(refreshJwt);
+                tokenRevocationService.revoke(refreshJwt);
+            } catch (InvalidJwtException e) {
+                // An expired or tampered refresh token is already unusable
+            }
+        }
     }
 }
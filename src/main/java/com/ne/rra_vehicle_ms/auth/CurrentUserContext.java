@@ -0,0 +1,65 @@
+package com.ne.rra_vehicle_ms.auth;
+
+import com.ne.rra_vehicle_ms.employee.entities.Employee;
+import com.ne.rra_vehicle_ms.employee.entities.Role;
+import com.ne.rra_vehicle_ms.employee.repositories.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.UUID;
+
+// The caller of the current request, filled by JwtAuthenticationFilter from the verified token claims.
+// Everything the token carries is answered from memory; the employee row is only read when
+// something else is needed, and then at most once per request.
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUserContext {
+    private final EmployeeRepository employeeRepository;
+
+    private TokenSubject subject;
+    private Employee employee;
+    private boolean employeeLoaded;
+
+    void populate(TokenSubject subject) {
+        this.subject = subject;
+        this.employee = null;
+        this.employeeLoaded = false;
+    }
+
+    public boolean isAuthenticated() {
+        return subject != null;
+    }
+
+    public UUID getId() {
+        return requireSubject().id();
+    }
+
+    public String getEmail() {
+        return requireSubject().email();
+    }
+
+    public String getPhoneNumber() {
+        return requireSubject().phoneNumber();
+    }
+
+    public Role getRole() {
+        return requireSubject().role();
+    }
+
+    public Employee getEmployee() {
+        if (!employeeLoaded) {
+            employee = employeeRepository.findById(requireSubject().id()).orElse(null);
+            employeeLoaded = true;
+        }
+        return employee;
+    }
+
+    private TokenSubject requireSubject() {
+        if (subject == null) {
+            throw new IllegalStateException("No authenticated user for this request");
+        }
+        return subject;
+    }
+}
@@ -0,0 +1,7 @@
+package com.ne.rra_vehicle_ms.auth;
+
+public record IssuedTokens(
+        Jwt accessToken,
+        Jwt refreshToken
+) {
+}
@@ -3,34 +3,50 @@ package com.ne.rra_vehicle_ms.auth;
 
 import com.ne.rra_vehicle_ms.employee.entities.Role;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.UUID;
 
 public class Jwt {
     private final Claims claims;
-    private final SecretKey secretKey;
+    // Signed compact form, produced once when the token is issued or taken as-is when it is parsed
+    private final String compact;
 
-    public Jwt(Claims claims, SecretKey secretKey) {
+    public Jwt(Claims claims, String compact) {
         this.claims = claims;
-        this.secretKey = secretKey;
+        this.compact = compact;
     }
 
     public boolean isExpired(){
         return claims.getExpiration().before(new Date());
     }
 
+    // Null for tokens issued before token ids were added, which cannot be revoked
+    public String getId(){
+        return claims.getId();
+    }
+
+    public Date getExpiration(){
+        return claims.getExpiration();
+    }
+
     public UUID getUserId(){
         return UUID.fromString(claims.getSubject());
     }
 
+    public String getEmail() {
+        return claims.get("email", String.class);
+    }
+
+    public String getPhoneNumber() {
+        return claims.get("phoneNumber", String.class);
+    }
+
     public Role getRole() {
         return Role.valueOf(claims.get("role", String.class));
     }
 
     public String toString(){
-        return Jwts.builder().claims(claims).signWith(secretKey).compact();
+        return compact;
     }
 }
@@ -24,6 +24,8 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final CurrentUserContext currentUserContext;
     private final AuthenticationEntryPoint authenticationEntryPoint;
 
     @Override
@@ -57,6 +59,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (jwt.getUserId() == null || jwt.getRole() == null) {
                 throw new InvalidJwtException("Missing token claims");
             }
+            if (tokenRevocationService.isRevoked(jwt)) {
+                throw new InvalidJwtException("Token revoked");
+            }
 
             // Set authentication
             UsernamePasswordAuthenticationToken authentication =
@@ -71,6 +76,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             );
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
+            currentUserContext.populate(TokenSubject.from(jwt));
             filterChain.doFilter(request, response);
 
         } catch (Exception ex) {
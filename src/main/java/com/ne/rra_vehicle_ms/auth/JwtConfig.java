@@ -1,7 +1,10 @@
 package com.ne.rra_vehicle_ms.auth;
 
 import io.jsonwebtoken.security.Keys;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -14,8 +17,25 @@ public class JwtConfig {
     private String secret;
     private int accessTokenExpiration;
     private int refreshTokenExpiration;
+    // Upper bound on access tokens remembered as already verified, see JwtService
+    private long verifiedTokenCacheSize = 10_000;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile SecretKey secretKey;
+
+    public void setSecret(String secret){
+        this.secret = secret;
+        this.secretKey = null;
+    }
+
+    // Derived once instead of on every sign/verify
     public SecretKey getSecretKey(){
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        SecretKey key = secretKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes());
+            secretKey = key;
+        }
+        return key;
     }
 }
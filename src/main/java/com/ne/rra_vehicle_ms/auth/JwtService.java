@@ -1,49 +1,87 @@
 package com.ne.rra_vehicle_ms.auth;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.ne.rra_vehicle_ms.auth.exceptions.InvalidJwtException;
 import com.ne.rra_vehicle_ms.employee.entities.Employee;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.SignatureException;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
-@AllArgsConstructor
 @Service
 @Slf4j
 public class JwtService {
     private final JwtConfig config;
+    // Parsers are immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser;
+    // Claims of tokens whose signature was already checked, keyed by a hash of the token
+    // and dropped when the token expires, so a client reusing its access token is not re-verified
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtService(JwtConfig config) {
+        this.config = config;
+        this.parser = Jwts.parser()
+                .verifyWith(config.getSecretKey())
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(config.getVerifiedTokenCacheSize())
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
 
     Jwt generateAccessToken(Employee employee){
-        return generateToken(employee, config.getAccessTokenExpiration());
+        return generateAccessToken(TokenSubject.from(employee));
     }
 
-    Jwt generateRefreshToken(Employee employee){
-        return generateToken(employee, config.getRefreshTokenExpiration());
+    Jwt generateAccessToken(TokenSubject subject){
+        return generateToken(subject, config.getAccessTokenExpiration());
     }
 
-    private Jwt generateToken(Employee employee, long tokenExpiration){
+    Jwt generateRefreshToken(TokenSubject subject){
+        return generateToken(subject, config.getRefreshTokenExpiration());
+    }
+
+    private Jwt generateToken(TokenSubject subject, long tokenExpiration){
         var claims = Jwts.claims()
-                .subject(employee.getId().toString())
-                .add("email", employee.getEmail())
-                .add("phoneNumber", employee.getMobile())
-                .add("role", employee.getRole())
+                .id(UUID.randomUUID().toString())
+                .subject(subject.id().toString())
+                .add("email", subject.email())
+                .add("phoneNumber", subject.phoneNumber())
+                .add("role", subject.role())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + 1000 * tokenExpiration))
                 .build();
-        return new Jwt(claims, config.getSecretKey());
+        String compact = Jwts.builder().claims(claims).signWith(config.getSecretKey()).compact();
+        return new Jwt(claims, compact);
     }
 
     Jwt parseToken(String token) {
+        String tokenHash = hash(token);
+        Claims verified = verifiedTokens.getIfPresent(tokenHash);
+        if (verified != null && verified.getExpiration().after(new Date())) {
+            return new Jwt(verified, token);
+        }
         try {
             var claims = getClaims(token);
-            return new Jwt(claims, config.getSecretKey());
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(tokenHash, claims);
+            }
+            return new Jwt(claims, token);
         } catch (ExpiredJwtException ex) {
             log.debug("Token expired: {}", ex.getMessage()); // Debug level only
             throw new InvalidJwtException("Token expired");
@@ -57,10 +95,34 @@ public class JwtService {
     }
 
     private Claims getClaims(String token){
-        return Jwts.parser()
-                .verifyWith(config.getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Keeps each verified token exactly until its own expiration claim
+    private static class TokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,17 @@
+package com.ne.rra_vehicle_ms.auth;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.auth.login")
+@Data
+public class LoginConfig {
+    // BCrypt cost for new hashes; stored hashes with a lower cost are re-hashed on the next successful login
+    private int bcryptStrength = 10;
+    // Password checks run on their own pool so a login burst cannot take every request thread
+    private int poolSize = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    // Logins waiting for a free thread; beyond this they are rejected with 503 straight away
+    private int queueCapacity = 100;
+}
@@ -0,0 +1,12 @@
+package com.ne.rra_vehicle_ms.auth;
+
+import java.util.UUID;
+
+// What Redis keeps per refresh token. familyId is shared by every token rotated from the same login,
+// and authenticatedAt is that login's time, carried over unchanged on rotation.
+public record RefreshSession(
+        UUID familyId,
+        TokenSubject subject,
+        long authenticatedAt
+) {
+}
@@ -0,0 +1,19 @@
+package com.ne.rra_vehicle_ms.auth;
+
+import com.ne.rra_vehicle_ms.employee.events.EmployeeChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Refresh sessions hold a copy of the token claims, so they are ended when the employee changes
+@Component
+@RequiredArgsConstructor
+public class RefreshSessionInvalidator {
+    private final RefreshSessionStore refreshSessionStore;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        refreshSessionStore.endSessionsOf(event.employeeId());
+    }
+}
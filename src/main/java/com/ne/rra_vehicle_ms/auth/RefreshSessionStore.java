@@ -0,0 +1,121 @@
+package com.ne.rra_vehicle_ms.auth;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+// Refresh sessions in Redis, one key per refresh token id (jti). Each refresh consumes the session
+// and stores a new one for the rotated token, so the claims for the next access token never come from the database.
+// A consumed token that is presented again means it was copied; the whole family from that login is then ended.
+// Consuming and rotating are Lua scripts, so a replay racing the legitimate refresh cannot slip between the steps.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshSessionStore {
+    private static final String SESSION_PREFIX = "refresh-session:";
+    private static final String USED_PREFIX = "refresh-used:";
+    private static final String FAMILY_PREFIX = "refresh-family:";
+    private static final String NOT_BEFORE_PREFIX = "refresh-not-before:";
+    static final RedisScript<List> CONSUME_SESSION =
+            RedisScript.of(new ClassPathResource("scripts/refresh-consume.lua"), List.class);
+    static final RedisScript<Long> ROTATE_SESSION =
+            RedisScript.of(new ClassPathResource("scripts/refresh-rotate.lua"), Long.class);
+
+    private final ValueOperations<String, String> valueOperations;
+    private final ObjectMapper objectMapper;
+    private final JwtConfig jwtConfig;
+
+    void start(Jwt refreshToken, TokenSubject subject) {
+        save(refreshToken, new RefreshSession(UUID.randomUUID(), subject, System.currentTimeMillis()));
+    }
+
+    // Removes the session of the presented token and returns it; the token can never be used again
+    RefreshSession consume(Jwt refreshToken) {
+        String tokenId = refreshToken.getId();
+        if (tokenId == null) {
+            throw new BadCredentialsException("Refresh token is not recognised.");
+        }
+        List<?> result = valueOperations.getOperations().execute(CONSUME_SESSION,
+                List.of(SESSION_PREFIX + tokenId, USED_PREFIX + tokenId),
+                tokenId, String.valueOf(sessionTtl().toMillis()), FAMILY_PREFIX, SESSION_PREFIX);
+        String status = (String) result.get(0);
+        if ("reused".equals(status)) {
+            log.warn("Refresh token reuse detected, ended session family {}", result.get(1));
+        }
+        if (!"valid".equals(status)) {
+            throw new BadCredentialsException("Refresh token is no longer valid.");
+        }
+        RefreshSession session = read((String) result.get(1));
+
+        // Sessions started before the employee's credentials, role or status last changed are not renewed
+        String notBefore = valueOperations.get(NOT_BEFORE_PREFIX + session.subject().id());
+        if (notBefore != null && session.authenticatedAt() < Long.parseLong(notBefore)) {
+            valueOperations.getOperations().delete(FAMILY_PREFIX + session.familyId());
+            throw new BadCredentialsException("Account details changed, please sign in again.");
+        }
+        return session;
+    }
+
+    // Each rotation restarts the expiry window, so an active session slides forward.
+    // Fails when the family was ended after the consumed token was accepted, e.g. by a replay of that token.
+    void rotate(Jwt consumedToken, RefreshSession previous, Jwt refreshToken) {
+        RefreshSession session = new RefreshSession(previous.familyId(), previous.subject(), previous.authenticatedAt());
+        Long stored = valueOperations.getOperations().execute(ROTATE_SESSION,
+                List.of(FAMILY_PREFIX + session.familyId(), SESSION_PREFIX + refreshToken.getId()),
+                consumedToken.getId(), refreshToken.getId(), write(session), String.valueOf(sessionTtl().toMillis()));
+        if (stored == null || stored == 0) {
+            throw new BadCredentialsException("Refresh token is no longer valid.");
+        }
+    }
+
+    void end(Jwt refreshToken) {
+        String tokenId = refreshToken.getId();
+        if (tokenId == null) {
+            return;
+        }
+        String json = valueOperations.getAndDelete(SESSION_PREFIX + tokenId);
+        if (json != null) {
+            valueOperations.getOperations().delete(FAMILY_PREFIX + read(json).familyId());
+        }
+    }
+
+    void endSessionsOf(UUID employeeId) {
+        valueOperations.set(NOT_BEFORE_PREFIX + employeeId, String.valueOf(System.currentTimeMillis()), sessionTtl());
+    }
+
+    private void save(Jwt refreshToken, RefreshSession session) {
+        Duration ttl = sessionTtl();
+        valueOperations.set(SESSION_PREFIX + refreshToken.getId(), write(session), ttl);
+        valueOperations.set(FAMILY_PREFIX + session.familyId(), refreshToken.getId(), ttl);
+    }
+
+    private Duration sessionTtl() {
+        return Duration.ofSeconds(jwtConfig.getRefreshTokenExpiration());
+    }
+
+    private String write(RefreshSession session) {
+        try {
+            return objectMapper.writeValueAsString(session);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialise refresh session", e);
+        }
+    }
+
+    private RefreshSession read(String json) {
+        try {
+            return objectMapper.readValue(json, RefreshSession.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read refresh session", e);
+        }
+    }
+}
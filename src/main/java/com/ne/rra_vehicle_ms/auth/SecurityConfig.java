@@ -1,9 +1,14 @@
 package com.ne.rra_vehicle_ms.auth;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -13,18 +18,27 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Configuration
 @EnableWebSecurity
 @AllArgsConstructor
 @Slf4j
 public class SecurityConfig {
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+    private final LoginConfig loginConfig;
     private final  JwtAuthenticationFilter jwtAuthenticationFilter;
     private final SecurityExceptionHandler securityExceptionHandler;
     private static final String[] AUTH_WHITELIST = {
@@ -46,7 +60,7 @@ public class SecurityConfig {
 
     @Bean
     PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(loginConfig.getBcryptStrength());
     }
 
     @Bean
@@ -54,9 +68,37 @@ public class SecurityConfig {
         var provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+        // Re-hashes at the configured strength when a stored hash is weaker
+        provider.setUserDetailsPasswordService(userDetailsPasswordService);
         return provider;
     }
 
+    // Bounded pool for password verification. AbortPolicy rejects logins once the queue is full
+    // instead of letting them pile up; queue depth and active threads are exported as executor.* metrics.
+    @Bean(destroyMethod = "shutdown")
+    ExecutorService loginExecutor(MeterRegistry meterRegistry){
+        var threadNumber = new AtomicInteger();
+        var executor = new ThreadPoolExecutor(
+                loginConfig.getPoolSize(),
+                loginConfig.getPoolSize(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(loginConfig.getQueueCapacity()),
+                runnable -> new Thread(runnable, "login-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "login");
+    }
+
+    @Bean
+    RedisMessageListenerContainer tokenRevocationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                   TokenRevocationService tokenRevocationService,
+                                                                   TokenRevocationConfig tokenRevocationConfig){
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(tokenRevocationService, new ChannelTopic(tokenRevocationConfig.getChannel()));
+        return container;
+    }
+
     @Bean
     AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
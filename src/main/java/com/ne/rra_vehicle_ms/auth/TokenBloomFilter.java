@@ -0,0 +1,61 @@
+package com.ne.rra_vehicle_ms.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-size bloom filter over token ids. mightContain never misses an added id and
+// answers false for almost every other id without leaving the process.
+class TokenBloomFilter {
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    TokenBloomFilter(long expectedEntries, double falsePositiveRate) {
+        long entries = Math.max(1, expectedEntries);
+        long optimalBits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, optimalBits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    void add(String tokenId) {
+        long[] hashes = hashes(tokenId);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = index(hashes, i);
+            bits.getAndAccumulate(bit >>> 6, 1L << (bit & 63), (current, mask) -> current | mask);
+        }
+    }
+
+    boolean mightContain(String tokenId) {
+        long[] hashes = hashes(tokenId);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = index(hashes, i);
+            if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Double hashing: the i-th probe is h1 + i * h2
+    private int index(long[] hashes, int i) {
+        return (int) Math.floorMod(hashes[0] + i * hashes[1], (long) bitCount);
+    }
+
+    private static long[] hashes(String tokenId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(tokenId.getBytes(StandardCharsets.UTF_8));
+            long h1 = 0;
+            long h2 = 0;
+            for (int i = 0; i < 8; i++) {
+                h1 = (h1 << 8) | (digest[i] & 0xFF);
+                h2 = (h2 << 8) | (digest[i + 8] & 0xFF);
+            }
+            return new long[]{h1, h2 | 1};
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.ne.rra_vehicle_ms.auth;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.token-revocation")
+@Data
+public class TokenRevocationConfig {
+    // How often each node rebuilds its bloom filter from Redis, as a backstop for missed broadcasts
+    private Duration syncInterval = Duration.ofSeconds(30);
+    // Sizing of the bloom filter, only bloom hits cost a Redis lookup
+    private long expectedRevocations = 100_000;
+    private double falsePositiveRate = 0.001;
+    private String channel = "token-revocations";
+}
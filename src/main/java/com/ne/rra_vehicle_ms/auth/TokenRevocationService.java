@@ -0,0 +1,117 @@
+package com.ne.rra_vehicle_ms.auth;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+
+// Revoked token ids live in Redis until the token would have expired anyway: one key per id for exact
+// lookups and a sorted set scored by expiry that nodes read to rebuild their local bloom filter.
+// A token is only looked up in Redis when the bloom filter says it might be revoked.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService implements MessageListener {
+    private static final String KEY_PREFIX = "revoked-token:";
+    private static final String INDEX_KEY = "revoked-tokens";
+
+    private final StringRedisTemplate redisTemplate;
+    private final TokenRevocationConfig config;
+
+    private volatile TokenBloomFilter bloomFilter;
+    // Filter being rebuilt by sync(), so broadcasts that arrive meanwhile are not lost on the swap
+    private volatile TokenBloomFilter rebuilding;
+
+    public void revoke(Jwt jwt) {
+        String tokenId = jwt.getId();
+        if (tokenId == null) {
+            return;
+        }
+        long expiresAt = jwt.getExpiration().getTime();
+        long remainingMillis = expiresAt - System.currentTimeMillis();
+        if (remainingMillis <= 0) {
+            return;
+        }
+        redisTemplate.opsForValue().set(KEY_PREFIX + tokenId, "1", Duration.ofMillis(remainingMillis));
+        redisTemplate.opsForZSet().add(INDEX_KEY, tokenId, expiresAt);
+        filter().add(tokenId);
+        try {
+            redisTemplate.convertAndSend(config.getChannel(), tokenId);
+        } catch (Exception e) {
+            // Other nodes still pick it up on their next sync
+            log.warn("Failed to broadcast token revocation: {}", e.getMessage());
+        }
+    }
+
+    public boolean isRevoked(Jwt jwt) {
+        String tokenId = jwt.getId();
+        if (tokenId == null || !filter().mightContain(tokenId)) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + tokenId));
+        } catch (Exception e) {
+            // The filter already flagged this token, so fail closed rather than let a revoked token through
+            log.warn("Failed to check token revocation, rejecting token: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.token-revocation.sync-interval:30s}",
+            initialDelayString = "${app.token-revocation.sync-interval:30s}")
+    public void sync() {
+        try {
+            TokenBloomFilter rebuilt = newFilter();
+            rebuilding = rebuilt;
+            long now = System.currentTimeMillis();
+            redisTemplate.opsForZSet().removeRangeByScore(INDEX_KEY, Double.NEGATIVE_INFINITY, now);
+            Set<String> tokenIds = redisTemplate.opsForZSet().rangeByScore(INDEX_KEY, now, Double.POSITIVE_INFINITY);
+            if (tokenIds != null) {
+                tokenIds.forEach(rebuilt::add);
+            }
+            bloomFilter = rebuilt;
+            log.debug("Synced {} revoked tokens", tokenIds == null ? 0 : tokenIds.size());
+        } catch (Exception e) {
+            log.warn("Failed to sync revoked tokens, keeping the current filter: {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String tokenId = new String(message.getBody(), StandardCharsets.UTF_8);
+        filter().add(tokenId);
+        TokenBloomFilter pending = rebuilding;
+        if (pending != null) {
+            pending.add(tokenId);
+        }
+    }
+
+    private TokenBloomFilter filter() {
+        TokenBloomFilter filter = bloomFilter;
+        if (filter == null) {
+            synchronized (this) {
+                if (bloomFilter == null) {
+                    bloomFilter = newFilter();
+                }
+                filter = bloomFilter;
+            }
+        }
+        return filter;
+    }
+
+    private TokenBloomFilter newFilter() {
+        return new TokenBloomFilter(config.getExpectedRevocations(), config.getFalsePositiveRate());
+    }
+}
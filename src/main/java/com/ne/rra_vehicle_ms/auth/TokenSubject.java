@@ -0,0 +1,27 @@
+package com.ne.rra_vehicle_ms.auth;
+
+import com.ne.rra_vehicle_ms.employee.entities.Employee;
+import com.ne.rra_vehicle_ms.employee.entities.Role;
+import com.ne.rra_vehicle_ms.employee.services.EmployeeUserDetails;
+
+import java.util.UUID;
+
+// The employee fields that end up as token claims
+public record TokenSubject(
+        UUID id,
+        String email,
+        String phoneNumber,
+        Role role
+) {
+    public static TokenSubject from(Employee employee) {
+        return new TokenSubject(employee.getId(), employee.getEmail(), employee.getMobile(), employee.getRole());
+    }
+
+    public static TokenSubject from(Jwt jwt) {
+        return new TokenSubject(jwt.getUserId(), jwt.getEmail(), jwt.getPhoneNumber(), jwt.getRole());
+    }
+
+    public static TokenSubject from(EmployeeUserDetails userDetails) {
+        return new TokenSubject(userDetails.getId(), userDetails.getUsername(), userDetails.getMobile(), userDetails.getRole());
+    }
+}
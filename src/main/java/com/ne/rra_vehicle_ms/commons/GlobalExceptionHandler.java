@@ -6,9 +6,13 @@ import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import jakarta.mail.MessagingException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -17,10 +21,15 @@ import org.springframework.web.method.annotation.HandlerMethodValidationExceptio
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @ControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
+    // Unique constraints that back a service-level check; losing the race to a concurrent request gets the same
+    // 400 as failing the check instead of a 500
+    private static final Map<String, String> CONSTRAINT_MESSAGES = Map.of(
+            "idx_employment_one_active_per_employee", "Employee already has an active employment");
 
     @ExceptionHandler(IllegalArgumentException.class)
     ResponseEntity<ProblemDetail> handleIllegalArgumentExceptions(IllegalArgumentException ex){
@@ -75,6 +84,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(problemDetail);
     }
 
+    // A bounded executor (e.g. the login pool) is full; the caller should retry shortly
+    @ExceptionHandler(RejectedExecutionException.class)
+    ResponseEntity<ProblemDetail> handleRejectedExecutionException(RejectedExecutionException ex){
+        var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler(BadCredentialsException.class)
+    ResponseEntity<ProblemDetail> handleBadCredentialsException(BadCredentialsException ex){
+        var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.UNAUTHORIZED, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(problemDetail);
+    }
+
     @ExceptionHandler(DisabledException.class)
     ResponseEntity<ProblemDetail> handleDisabledException(DisabledException ex){
         var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.FORBIDDEN, ex.getMessage());
@@ -93,6 +117,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(problemDetail);
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    ResponseEntity<ProblemDetail> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        String cause = String.valueOf(NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+        return CONSTRAINT_MESSAGES.entrySet().stream()
+                .filter(constraint -> cause.contains(constraint.getKey()))
+                .findFirst()
+                .map(constraint -> ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, constraint.getValue())))
+                .orElseGet(() -> handleGenericException(ex));
+    }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ProblemDetail> handleGenericException(Exception ex){
@@ -0,0 +1,8 @@
+package com.ne.rra_vehicle_ms.commons.cache;
+
+public enum CacheValueFormat {
+    // Self-describing JSON with class metadata, readable with redis-cli
+    JSON,
+    // Binary Jackson encoding bound to the cache's declared value type, no class metadata stored
+    SMILE
+}
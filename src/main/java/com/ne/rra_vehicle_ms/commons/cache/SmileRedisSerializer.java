@@ -0,0 +1,57 @@
+package com.ne.rra_vehicle_ms.commons.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+// Writes values as Smile against a fixed value type. Because the type is known per cache,
+// nothing about the class has to be stored alongside the data.
+public class SmileRedisSerializer<T> implements RedisSerializer<T> {
+    private static final byte[] EMPTY = new byte[0];
+    private static final ObjectMapper MAPPER = new ObjectMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build())
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final JavaType type;
+
+    public SmileRedisSerializer(JavaType type) {
+        this.type = type;
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+        try {
+            return MAPPER.writerFor(type).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write Smile value of type " + type, e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read Smile value of type " + type, e);
+        }
+    }
+}
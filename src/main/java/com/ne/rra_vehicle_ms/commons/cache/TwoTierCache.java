@@ -0,0 +1,327 @@
+package com.ne.rra_vehicle_ms.commons.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Answers from a bounded in-process map first and falls back to the shared Redis cache.
+// Every write or eviction is broadcast so the other nodes drop their local copy.
+//
+// Loads through get(key, loader) (@Cacheable(sync = true)) are coalesced per key, and an
+// entry close to its Redis expiry is occasionally recomputed early by a single caller
+// (probabilistic early expiration), so an expiring hot key does not send every request
+// to the database at once.
+@Slf4j
+public class TwoTierCache implements Cache {
+    private final String name;
+    private final RedisCache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, LocalEntry> local;
+    private final TwoTierCacheManager manager;
+    private final double earlyRefreshBeta;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder earlyRefreshes = new LongAdder();
+    // Moving estimate of how long a load takes, used for entries this node did not load itself
+    private volatile long averageLoadMillis = 50;
+
+    TwoTierCache(String name,
+                 RedisCache remote,
+                 com.github.benmanes.caffeine.cache.Cache<String, LocalEntry> local,
+                 TwoTierCacheManager manager,
+                 double earlyRefreshBeta) {
+        this.name = name;
+        this.remote = remote;
+        this.local = local;
+        this.manager = manager;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        LocalEntry entry = local.getIfPresent(localKey);
+        if (entry != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(entry.value());
+        }
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            remoteHits.increment();
+            local.put(localKey, new LocalEntry(wrapper.get(), 0, averageLoadMillis));
+            return wrapper;
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        if (type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        LocalEntry entry = local.getIfPresent(localKey);
+        if (entry != null) {
+            localHits.increment();
+            if (entry.shouldRefreshEarly(earlyRefreshBeta)) {
+                refreshEarly(key, localKey, valueLoader);
+            }
+            return (T) entry.value();
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(localKey, load);
+        if (existing != null) {
+            // Another request is already loading this key, wait for its result instead of loading again
+            coalescedLoads.increment();
+            return (T) await(existing);
+        }
+        try {
+            Object value = loadThroughRemote(key, localKey, valueLoader);
+            load.complete(value);
+            return (T) value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(localKey, load);
+        }
+    }
+
+    private Object loadThroughRemote(Object key, String localKey, Callable<?> valueLoader) {
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            remoteHits.increment();
+            long remoteExpiresAt = manager.remoteExpiresAt(remoteKey(key));
+            local.put(localKey, new LocalEntry(wrapper.get(), remoteExpiresAt, averageLoadMillis));
+            return wrapper.get();
+        }
+
+        misses.increment();
+        return loadAndStore(key, localKey, valueLoader);
+    }
+
+    private Object loadAndStore(Object key, String localKey, Callable<?> valueLoader) {
+        long started = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        long loadMillis = Math.max(1, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        averageLoadMillis = (averageLoadMillis * 7 + loadMillis) / 8;
+
+        remote.put(key, value);
+        local.put(localKey, new LocalEntry(value, remoteExpiresAtAfterWrite(key, value), loadMillis));
+        puts.increment();
+        manager.broadcastEvict(name, localKey);
+        return value;
+    }
+
+    // Only the caller that wins the race recomputes; everyone else keeps serving the current value
+    private void refreshEarly(Object key, String localKey, Callable<?> valueLoader) {
+        CompletableFuture<Object> refresh = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(localKey, refresh) != null) {
+            return;
+        }
+        try {
+            earlyRefreshes.increment();
+            refresh.complete(loadAndStore(key, localKey, valueLoader));
+        } catch (RuntimeException e) {
+            refresh.completeExceptionally(e);
+            log.debug("Early refresh of {}::{} failed, serving the cached value: {}", name, key, e.getMessage());
+        } finally {
+            inFlight.remove(localKey, refresh);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        String localKey = localKey(key);
+        if (value != null) {
+            local.put(localKey, new LocalEntry(value, remoteExpiresAtAfterWrite(key, value), averageLoadMillis));
+        } else {
+            local.invalidate(localKey);
+        }
+        puts.increment();
+        manager.broadcastEvict(name, localKey);
+    }
+
+    // Writes many entries in one pipelined round trip instead of one per entry. Nothing is broadcast:
+    // it is meant for filling the cache with freshly read data, which other nodes' copies already match.
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        RedisCacheConfiguration config = remote.getCacheConfiguration();
+        manager.pipeline(connection -> entries.forEach((key, value) -> {
+            byte[] redisKey = ByteUtils.getBytes(config.getKeySerializationPair().write(remoteKey(key)));
+            byte[] redisValue = ByteUtils.getBytes(config.getValueSerializationPair().write(value));
+            Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+            Expiration expiration = ttl == null || ttl.isZero() ? Expiration.persistent() : Expiration.from(ttl);
+            connection.stringCommands().set(redisKey, redisValue, expiration, RedisStringCommands.SetOption.upsert());
+        }));
+        entries.forEach((key, value) ->
+                local.put(localKey(key), new LocalEntry(value, remoteExpiresAtAfterWrite(key, value), averageLoadMillis)));
+        puts.add(entries.size());
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        evictLocal(localKey(key));
+        evictions.increment();
+        manager.broadcastEvict(name, localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        evictLocal(localKey(key));
+        evictions.increment();
+        manager.broadcastEvict(name, localKey(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        manager.broadcastClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean hadEntries = remote.invalidate();
+        clearLocal();
+        manager.broadcastClear(name);
+        return hadEntries;
+    }
+
+    void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    // Redis stores keys in their string form, so the local tier uses the same form
+    // and invalidation messages from other nodes can be matched directly.
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private String remoteKey(Object key) {
+        return remote.getCacheConfiguration().getKeyPrefixFor(name) + localKey(key);
+    }
+
+    private long remoteExpiresAtAfterWrite(Object key, Object value) {
+        Duration ttl = remote.getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+        return ttl == null || ttl.isZero() || ttl.isNegative() ? 0 : System.currentTimeMillis() + ttl.toMillis();
+    }
+
+    long localSize() {
+        return local.estimatedSize();
+    }
+
+    long localHitCount() {
+        return localHits.sum();
+    }
+
+    long remoteHitCount() {
+        return remoteHits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    long putCount() {
+        return puts.sum();
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    long coalescedLoadCount() {
+        return coalescedLoads.sum();
+    }
+
+    long earlyRefreshCount() {
+        return earlyRefreshes.sum();
+    }
+
+    // remoteExpiresAt is 0 when the Redis expiry is unknown, which disables early refresh for the entry
+    record LocalEntry(Object value, long remoteExpiresAt, long loadMillis) {
+        // XFetch: refresh once now - loadMillis * beta * ln(random) passes the expiry,
+        // which becomes more likely the closer the entry is to expiring and the slower it is to load
+        boolean shouldRefreshEarly(double beta) {
+            if (remoteExpiresAt == 0) {
+                return false;
+            }
+            double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+            double gap = loadMillis * beta * -Math.log(random);
+            return System.currentTimeMillis() + gap >= remoteExpiresAt;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.ne.rra_vehicle_ms.commons.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+    private static final String SEPARATOR = "|";
+
+    private final RedisCacheManager remoteCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final String invalidationChannel;
+    private final long localMaximumSize;
+    private final Duration localTtl;
+    private final double earlyRefreshBeta;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(RedisCacheManager remoteCacheManager,
+                               StringRedisTemplate redisTemplate,
+                               String invalidationChannel,
+                               long localMaximumSize,
+                               Duration localTtl,
+                               double earlyRefreshBeta,
+                               Set<String> initialCacheNames) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.invalidationChannel = invalidationChannel;
+        this.localMaximumSize = localMaximumSize;
+        this.localTtl = localTtl;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        initialCacheNames.forEach(this::getCache);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoTierCache createCache(String name) {
+        if (!(remoteCacheManager.getCache(name) instanceof RedisCache remote)) {
+            throw new IllegalStateException("No Redis cache available for " + name);
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, TwoTierCache.LocalEntry> local = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        return new TwoTierCache(name, remote, local, this, earlyRefreshBeta);
+    }
+
+    // Absolute expiry of a Redis entry in epoch millis, 0 when it has none or Redis cannot tell
+    long remoteExpiresAt(String redisKey) {
+        try {
+            Long ttl = redisTemplate.getExpire(redisKey, TimeUnit.MILLISECONDS);
+            return ttl == null || ttl <= 0 ? 0 : System.currentTimeMillis() + ttl;
+        } catch (Exception e) {
+            log.debug("Failed to read the expiry of {}: {}", redisKey, e.getMessage());
+            return 0;
+        }
+    }
+
+    void pipeline(Consumer<RedisConnection> commands) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            commands.accept(connection);
+            return null;
+        });
+    }
+
+    void broadcastEvict(String cacheName, String key) {
+        publish(nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+    }
+
+    void broadcastClear(String cacheName) {
+        publish(nodeId + SEPARATOR + cacheName);
+    }
+
+    private void publish(String payload) {
+        try {
+            redisTemplate.convertAndSend(invalidationChannel, payload);
+        } catch (Exception e) {
+            // Other nodes fall back to their local TTL if the broadcast is lost
+            log.warn("Failed to broadcast cache invalidation {}: {}", payload, e.getMessage());
+        }
+    }
+
+    // Invalidation messages are "<node>|<cache>" to clear a cache or "<node>|<cache>|<key>" to evict one key
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts.length == 3) {
+            cache.evictLocal(parts[2]);
+        } else {
+            cache.clearLocal();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.ne.rra_vehicle_ms.commons.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.stereotype.Component;
+
+// Lets the actuator cache metrics (cache.gets, cache.puts, ...) cover the two-tier caches,
+// with an extra per-tier hit counter to show how much traffic stays in process.
+@Component
+public class TwoTierCacheMetrics implements CacheMeterBinderProvider<TwoTierCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(TwoTierCache cache, Iterable<Tag> tags) {
+        return new Binder(cache, tags);
+    }
+
+    static class Binder extends CacheMeterBinder<TwoTierCache> {
+        Binder(TwoTierCache cache, Iterable<Tag> tags) {
+            super(cache, cache.getName(), tags);
+        }
+
+        @Override
+        protected Long size() {
+            TwoTierCache cache = getCache();
+            return cache == null ? null : cache.localSize();
+        }
+
+        @Override
+        protected long hitCount() {
+            TwoTierCache cache = getCache();
+            return cache == null ? 0 : cache.localHitCount() + cache.remoteHitCount();
+        }
+
+        @Override
+        protected Long missCount() {
+            TwoTierCache cache = getCache();
+            return cache == null ? null : cache.missCount();
+        }
+
+        @Override
+        protected Long evictionCount() {
+            TwoTierCache cache = getCache();
+            return cache == null ? null : cache.evictionCount();
+        }
+
+        @Override
+        protected long putCount() {
+            TwoTierCache cache = getCache();
+            return cache == null ? 0 : cache.putCount();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            TwoTierCache cache = getCache();
+            FunctionCounter.builder("cache.tier.hits", cache, TwoTierCache::localHitCount)
+                    .tags(getTagsWithCacheName())
+                    .tag("tier", "local")
+                    .description("Hits served from the in-process tier")
+                    .register(registry);
+            FunctionCounter.builder("cache.tier.hits", cache, TwoTierCache::remoteHitCount)
+                    .tags(getTagsWithCacheName())
+                    .tag("tier", "remote")
+                    .description("Hits served from Redis after a local miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.loads.coalesced", cache, TwoTierCache::coalescedLoadCount)
+                    .tags(getTagsWithCacheName())
+                    .description("Misses that waited for a load already in progress instead of loading again")
+                    .register(registry);
+            FunctionCounter.builder("cache.refreshes.early", cache, TwoTierCache::earlyRefreshCount)
+                    .tags(getTagsWithCacheName())
+                    .description("Entries recomputed ahead of their Redis expiry")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ne.rra_vehicle_ms.commons.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Read-only work whose result is cached: a connection it opens comes from the primary, never the replica.
+// Caches are evicted once the writing transaction has committed, and a reload served by a lagging replica
+// would put the old value back for the cache's whole TTL. Only misses and bulk fills read, so the primary
+// barely notices. The hint picks the connection when the transaction first needs one: a surrounding read-only
+// transaction that has already run a statement on the replica keeps it, so call these methods before that.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadFromPrimary {
+}
@@ -0,0 +1,21 @@
+package com.ne.rra_vehicle_ms.commons.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Applies @ReadFromPrimary. Runs whether or not a replica is configured; without one the hint is never read.
+@Aspect
+@Component
+public class ReadFromPrimaryAspect {
+    @Around("@annotation(com.ne.rra_vehicle_ms.commons.datasource.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = ReplicaRoutingDataSource.setPrimaryOnly(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRoutingDataSource.setPrimaryOnly(previous);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ne.rra_vehicle_ms.commons.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Polls how far the replica's replay is behind the primary. Until the first successful check, and whenever
+// the replica lags more than maxLag, has lost its WAL stream or cannot be reached, it is reported unusable and
+// reads stay on the primary.
+@Slf4j
+public class ReplicaLagMonitor {
+    private static final String PRIMARY_LSN_QUERY = "select pg_current_wal_lsn()::text";
+
+    // Without a WAL receiver the replica gets no new changes, so its own view of what it has received says
+    // nothing about the primary. A server that is not in recovery (e.g. a second standalone instance in local
+    // setups) has no lag at all.
+    private static final String REPLICA_STATE_QUERY = """
+            select not pg_is_in_recovery() as standalone,
+                   exists (select 1 from pg_stat_wal_receiver) as receiving,
+                   pg_wal_lsn_diff(?::pg_lsn, pg_last_wal_replay_lsn()) as behind_bytes,
+                   extract(epoch from now() - pg_last_xact_replay_timestamp()) as replay_age_seconds""";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private volatile Duration lag = Duration.ZERO;
+    private volatile long lagBytes;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        Gauge.builder("db.replica.lag", this, monitor -> monitor.lag.toMillis() / 1000.0)
+                .baseUnit("seconds")
+                .description("Replay delay of the read replica")
+                .register(meterRegistry);
+        Gauge.builder("db.replica.lag.bytes", this, monitor -> monitor.lagBytes)
+                .baseUnit("bytes")
+                .description("WAL the read replica has still to replay")
+                .register(meterRegistry);
+        Gauge.builder("db.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .description("Whether read-only transactions are currently routed to the replica")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:5s}",
+            initialDelayString = "${app.datasource.replica.lag-check-interval:5s}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            // The primary first: a replica that has replayed up to this point was current when the check started
+            String primaryLsn = primary.queryForObject(PRIMARY_LSN_QUERY, String.class);
+            ReplicaState state = replica.queryForObject(REPLICA_STATE_QUERY, (rs, rowNum) -> new ReplicaState(
+                    rs.getBoolean("standalone"),
+                    rs.getBoolean("receiving"),
+                    rs.getLong("behind_bytes"),
+                    rs.getObject("replay_age_seconds") == null ? null : rs.getDouble("replay_age_seconds")), primaryLsn);
+            if (state.standalone()) {
+                lagBytes = 0;
+                lag = Duration.ZERO;
+                usable = true;
+            } else if (!state.receiving()) {
+                usable = false;
+                if (wasUsable) {
+                    log.warn("Read replica has no WAL receiver, routing reads to the primary");
+                }
+            } else {
+                // Caught up even if the last replayed commit is old; otherwise as old as the last commit it replayed
+                // (unknown until it has replayed one)
+                lagBytes = Math.max(state.behindBytes(), 0);
+                if (lagBytes == 0) {
+                    lag = Duration.ZERO;
+                } else if (state.replayAgeSeconds() != null) {
+                    lag = Duration.ofMillis(Math.round(state.replayAgeSeconds() * 1000));
+                }
+                usable = lagBytes == 0 || state.replayAgeSeconds() != null && lag.compareTo(maxLag) <= 0;
+                if (wasUsable && !usable) {
+                    log.warn("Read replica is {} ({} bytes) behind (max {}), routing reads to the primary",
+                            lag, lagBytes, maxLag);
+                }
+            }
+        } catch (Exception e) {
+            usable = false;
+            if (wasUsable) {
+                log.warn("Read replica lag cannot be checked, routing reads to the primary: {}", e.getMessage());
+            }
+        }
+        if (!wasUsable && usable) {
+            log.info("Read replica is {} behind, routing reads to it", lag);
+        }
+    }
+
+    private record ReplicaState(boolean standalone, boolean receiving, long behindBytes, Double replayAgeSeconds) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.ne.rra_vehicle_ms.commons.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Target for read-only connections: the replica while it keeps up, the primary otherwise
+// and for work marked @ReadFromPrimary
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    DataSource replica,
+                                    ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.fallbacks = Counter.builder("db.replica.fallbacks")
+                .description("Read-only connections served by the primary because the replica was lagging or down")
+                .register(meterRegistry);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    // Returns the previous value so nested calls can restore it
+    static boolean setPrimaryOnly(boolean primaryOnly) {
+        boolean previous = Boolean.TRUE.equals(PRIMARY_ONLY.get());
+        if (primaryOnly) {
+            PRIMARY_ONLY.set(true);
+        } else {
+            PRIMARY_ONLY.remove();
+        }
+        return previous;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (Boolean.TRUE.equals(PRIMARY_ONLY.get())) {
+            return Target.PRIMARY;
+        }
+        if (lagMonitor.isReplicaUsable()) {
+            return Target.REPLICA;
+        }
+        fallbacks.increment();
+        return Target.PRIMARY;
+    }
+}
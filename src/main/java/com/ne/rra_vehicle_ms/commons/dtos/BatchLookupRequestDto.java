@@ -0,0 +1,16 @@
+package com.ne.rra_vehicle_ms.commons.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchLookupRequestDto(
+        @NotEmpty(message = "At least one id is required")
+        @Size(max = BatchLookupRequestDto.MAX_IDS, message = "At most " + BatchLookupRequestDto.MAX_IDS + " ids can be looked up per request")
+        List<@NotNull(message = "Ids must not be null") UUID> ids
+) {
+    public static final int MAX_IDS = 500;
+}
@@ -0,0 +1,28 @@
+package com.ne.rra_vehicle_ms.commons.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchLookupResult<T>(
+        UUID id,
+        boolean found,
+        T data
+) {
+    // Lines up the rows returned by a single IN query with the requested ids,
+    // keeping request order and marking the ids that did not match anything.
+    public static <T> List<BatchLookupResult<T>> inRequestOrder(List<UUID> ids, Collection<T> rows, Function<T, UUID> idOf) {
+        Map<UUID, T> rowsById = rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream()
+                .map(id -> rowsById.containsKey(id)
+                        ? new BatchLookupResult<>(id, true, rowsById.get(id))
+                        : new BatchLookupResult<T>(id, false, null))
+                .toList();
+    }
+}
@@ -0,0 +1,14 @@
+package com.ne.rra_vehicle_ms.commons.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPageResponse<T>(
+        List<T> content,
+        int pageSize,
+        String nextCursor,
+        boolean last
+) {
+}
@@ -19,4 +19,21 @@ public class Base36Generator implements IdentifierGenerator {
         }
         return id.toString();
     }
+
+    // Fixed-width base36 form of a non-negative number, left-padded with zeros
+    public static String encode(long value, int width) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Cannot encode negative value " + value);
+        }
+        char[] digits = new char[width];
+        long remaining = value;
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = BASE36.charAt((int) (remaining % 36));
+            remaining /= 36;
+        }
+        if (remaining != 0) {
+            throw new IllegalArgumentException(value + " does not fit in " + width + " base36 digits");
+        }
+        return new String(digits);
+    }
 }
@@ -0,0 +1,20 @@
+package com.ne.rra_vehicle_ms.commons.generators;
+
+import org.hibernate.annotations.ValueGenerationType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Business code made of a 3-letter prefix and 4 base36 digits (7 characters), numbered from a database
+// sequence. A value set before insert is kept.
+@ValueGenerationType(generatedBy = SequenceCodeGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SequenceCode {
+    String prefix();
+
+    // Must be created with INCREMENT BY SequenceCodeGenerator.BLOCK_SIZE
+    String sequence();
+}
@@ -0,0 +1,65 @@
+package com.ne.rra_vehicle_ms.commons.generators;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Hi/lo allocation: each nextval reserves a block of BLOCK_SIZE numbers that this node then hands out
+// from memory, so the database is asked once per block and nodes never hand out the same number.
+public class SequenceCodeGenerator implements BeforeExecutionGenerator {
+    public static final int BLOCK_SIZE = 50;
+    private static final int DIGITS = 4;
+
+    // Shared by every entity using the same sequence
+    private static final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    private final String prefix;
+    private final String sequence;
+
+    public SequenceCodeGenerator(SequenceCode config) {
+        this.prefix = config.prefix();
+        this.sequence = config.sequence();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        if (currentValue != null) {
+            return currentValue;
+        }
+        long number = blocks.computeIfAbsent(sequence, ignored -> new Block()).next(session, sequence);
+        return prefix + Base36Generator.encode(number, DIGITS);
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    private static final class Block {
+        private long next;
+        private long end;
+
+        synchronized long next(SharedSessionContractImplementor session, String sequence) {
+            if (next >= end) {
+                // nextval returns the last number of a freshly reserved block
+                long hi = session.doReturningWork(connection -> {
+                    try (Statement statement = connection.createStatement();
+                         ResultSet resultSet = statement.executeQuery("select nextval('" + sequence + "')")) {
+                        resultSet.next();
+                        return resultSet.getLong(1);
+                    }
+                });
+                next = hi - BLOCK_SIZE + 1;
+                end = hi + 1;
+            }
+            return next++;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.ne.rra_vehicle_ms.commons.generators;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Time-ordered UUID (version 7) primary key, generated in the application before insert.
+// Stored in the same uuid columns as random UUIDs, but new rows land at the right edge of the index.
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+}
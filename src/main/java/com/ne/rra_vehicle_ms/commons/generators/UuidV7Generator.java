@@ -0,0 +1,53 @@
+package com.ne.rra_vehicle_ms.commons.generators;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+
+// RFC 9562 version 7 layout: 48-bit Unix time in milliseconds, then 12 bits used as a counter so ids
+// generated within the same millisecond still sort in creation order, then 62 random bits.
+public class UuidV7Generator implements BeforeExecutionGenerator {
+    private static final SecureRandom random = new SecureRandom();
+
+    private static long lastMillis;
+    private static int counter;
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static UUID next() {
+        long millis;
+        int sequence;
+        synchronized (UuidV7Generator.class) {
+            millis = Math.max(System.currentTimeMillis(), lastMillis);
+            if (millis == lastMillis) {
+                counter++;
+                if (counter > 0xFFF) {
+                    // Counter exhausted for this millisecond, borrow the next one
+                    millis++;
+                    counter = 0;
+                }
+            } else {
+                counter = random.nextInt(0x800);
+            }
+            lastMillis = millis;
+            sequence = counter;
+        }
+
+        long mostSignificant = (millis << 16) | 0x7000L | sequence;
+        long leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
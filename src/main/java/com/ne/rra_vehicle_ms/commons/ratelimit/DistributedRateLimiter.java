@@ -0,0 +1,21 @@
+package com.ne.rra_vehicle_ms.commons.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Cluster-wide counterpart of resilience4j's @RateLimiter: the limit is shared by every node through Redis.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DistributedRateLimiter {
+    // resilience4j rate limiter instance whose limit-for-period and limit-refresh-period size the bucket;
+    // the same instance limits each node on its own while Redis is unavailable
+    String name();
+
+    // SpEL expressions over the method arguments, #ip is the client address.
+    // Each key gets its own bucket and a call needs a token from all of them.
+    String[] keys() default {"#ip"};
+}
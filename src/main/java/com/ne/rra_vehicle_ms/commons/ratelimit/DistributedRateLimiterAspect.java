@@ -0,0 +1,157 @@
+package com.ne.rra_vehicle_ms.commons.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ne.rra_vehicle_ms.config.RateLimitConfig;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Token bucket per (limiter, key) kept in Redis and updated by one Lua script call per check.
+// Each node may grant a small share of the tokens Redis last reported as left without asking again;
+// those grants are deducted on the next call, so clearly-allowed traffic mostly stays off Redis.
+@Aspect
+@Component
+@Slf4j
+public class DistributedRateLimiterAspect {
+    private static final ExpressionParser PARSER = new SpelExpressionParser();
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET =
+            RedisScript.of(new ClassPathResource("scripts/token-bucket.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final RateLimitConfig config;
+    private final Cache<String, LocalBucket> localBuckets;
+
+    public DistributedRateLimiterAspect(StringRedisTemplate redisTemplate,
+                                        RateLimiterRegistry rateLimiterRegistry,
+                                        RateLimitConfig config) {
+        this.redisTemplate = redisTemplate;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.config = config;
+        this.localBuckets = Caffeine.newBuilder()
+                .maximumSize(config.getLocalMaximumKeys())
+                .expireAfterAccess(config.getLocalSyncInterval().multipliedBy(10))
+                .build();
+    }
+
+    @Around("@annotation(distributedRateLimiter)")
+    public Object limit(ProceedingJoinPoint joinPoint, DistributedRateLimiter distributedRateLimiter) throws Throwable {
+        RateLimiter localLimiter = rateLimiterRegistry.rateLimiter(distributedRateLimiter.name());
+        List<String> keys = resolveKeys(joinPoint, distributedRateLimiter);
+        if (!tryAcquire(localLimiter, keys)) {
+            throw RequestNotPermitted.createRequestNotPermitted(localLimiter);
+        }
+        return joinPoint.proceed();
+    }
+
+    private boolean tryAcquire(RateLimiter localLimiter, List<String> keys) {
+        long now = System.currentTimeMillis();
+        List<LocalBucket> buckets = keys.stream()
+                .map(key -> localBuckets.get(key, ignored -> new LocalBucket()))
+                .toList();
+        if (buckets.stream().allMatch(bucket -> bucket.canGrantLocally(now, config))) {
+            buckets.forEach(LocalBucket::grantLocally);
+            return true;
+        }
+
+        RateLimiterConfig limits = localLimiter.getRateLimiterConfig();
+        long capacity = limits.getLimitForPeriod();
+        double refillPerMillis = (double) capacity / limits.getLimitRefreshPeriod().toMillis();
+
+        List<Object> args = new ArrayList<>();
+        args.add(String.valueOf(capacity));
+        args.add(String.valueOf(refillPerMillis));
+        buckets.forEach(bucket -> args.add(String.valueOf(bucket.drainLocalGrants())));
+        try {
+            List<?> result = redisTemplate.execute(TOKEN_BUCKET, keys, args.toArray());
+            for (int i = 0; i < buckets.size(); i++) {
+                buckets.get(i).synced(((Number) result.get(i + 1)).longValue(), now);
+            }
+            return ((Number) result.get(0)).longValue() == 1;
+        } catch (Exception e) {
+            // Without Redis each node enforces the limit on its own, as before
+            log.warn("Distributed rate limit check failed, using the local limiter {}: {}", localLimiter.getName(), e.getMessage());
+            return localLimiter.acquirePermission();
+        }
+    }
+
+    // Keys share a hash tag per limiter so one script call can touch all of them on a Redis cluster
+    private static List<String> resolveKeys(ProceedingJoinPoint joinPoint, DistributedRateLimiter distributedRateLimiter) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        var context = new MethodBasedEvaluationContext(null, method, joinPoint.getArgs(), PARAMETER_NAMES);
+        context.setVariable("ip", clientIp());
+
+        List<String> keys = new ArrayList<>();
+        String[] expressions = distributedRateLimiter.keys();
+        for (int i = 0; i < expressions.length; i++) {
+            Object value = PARSER.parseExpression(expressions[i]).getValue(context);
+            String key = value == null ? "none" : value.toString().toLowerCase(Locale.ROOT);
+            keys.add("rate-limit:{" + distributedRateLimiter.name() + "}:" + i + ":" + key);
+        }
+        return keys;
+    }
+
+    private static String clientIp() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRemoteAddr();
+        }
+        return "unknown";
+    }
+
+    // What this node knows about one bucket: the tokens Redis reported at the last check and
+    // the tokens granted locally since, which are sent as debt with the next check
+    private static final class LocalBucket {
+        private long remainingAtSync;
+        private long syncedAt;
+        private long localGrants;
+
+        synchronized boolean canGrantLocally(long now, RateLimitConfig config) {
+            if (now - syncedAt > config.getLocalSyncInterval().toMillis()) {
+                return false;
+            }
+            return localGrants + 1 <= (long) Math.floor(remainingAtSync * config.getLocalAllowanceFraction());
+        }
+
+        synchronized void grantLocally() {
+            localGrants++;
+        }
+
+        synchronized long drainLocalGrants() {
+            long grants = localGrants;
+            localGrants = 0;
+            return grants;
+        }
+
+        synchronized void synced(long remaining, long now) {
+            remainingAtSync = remaining;
+            syncedAt = now;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ne.rra_vehicle_ms.commons.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// Statements and database time per service method (service.db.statements / service.db.time, tagged with
+// class and method), and the @SqlStatementBudget check of service methods (endpoint budgets are checked by
+// SqlStatementMetricsFilter, so they cover the whole request).
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class SqlStatementAspect {
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementBudgetChecker budgetChecker;
+    private final ConcurrentMap<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            try {
+                return joinPoint.proceed();
+            } finally {
+                Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+                meters.computeIfAbsent(method, this::metersFor).record(scope);
+            }
+        }
+    }
+
+    @Around("@annotation(budget) && !@within(org.springframework.web.bind.annotation.RestController)")
+    public Object enforceBudget(ProceedingJoinPoint joinPoint, SqlStatementBudget budget) throws Throwable {
+        Object result;
+        int statements;
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            result = joinPoint.proceed();
+            statements = scope.getStatements();
+        }
+        budgetChecker.check(joinPoint.getSignature().toShortString(), statements, budget);
+        return result;
+    }
+
+    private MethodMeters metersFor(Method method) {
+        String className = method.getDeclaringClass().getSimpleName();
+        return new MethodMeters(
+                DistributionSummary.builder("service.db.statements")
+                        .description("SQL statements per service method call")
+                        .tags("class", className, "method", method.getName())
+                        .register(meterRegistry),
+                Timer.builder("service.db.time")
+                        .description("Database time per service method call")
+                        .tags("class", className, "method", method.getName())
+                        .register(meterRegistry));
+    }
+
+    private record MethodMeters(DistributionSummary statements, Timer time) {
+        void record(SqlStatementScope scope) {
+            statements.record(scope.getStatements());
+            time.record(scope.getElapsedMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
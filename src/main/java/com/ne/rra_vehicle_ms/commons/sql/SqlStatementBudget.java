@@ -0,0 +1,18 @@
+package com.ne.rra_vehicle_ms.commons.sql;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Most SQL statements a call of the method may run, including those of everything it calls. On a controller
+// handler method it is the budget of the whole request, filters included.
+// Going over is logged, or fails the call when app.sql.enforce-budgets is set (as tests do),
+// so an N+1 regression shows up as a failing test rather than a slow endpoint.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlStatementBudget {
+    int value();
+}
@@ -0,0 +1,25 @@
+package com.ne.rra_vehicle_ms.commons.sql;
+
+import com.ne.rra_vehicle_ms.config.SqlMetricsConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+// Shared by the service method (SqlStatementAspect) and endpoint (SqlStatementMetricsFilter) budgets
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class SqlStatementBudgetChecker {
+    private final SqlMetricsConfig config;
+
+    void check(String target, int statements, SqlStatementBudget budget) {
+        if (statements <= budget.value()) {
+            return;
+        }
+        String message = "%s ran %d SQL statements, its budget is %d".formatted(target, statements, budget.value());
+        if (config.isEnforceBudgets()) {
+            throw new SqlStatementBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+}
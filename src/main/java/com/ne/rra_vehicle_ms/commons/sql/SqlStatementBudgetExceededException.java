@@ -0,0 +1,7 @@
+package com.ne.rra_vehicle_ms.commons.sql;
+
+public class SqlStatementBudgetExceededException extends RuntimeException {
+    public SqlStatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ne.rra_vehicle_ms.commons.sql;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Routes the application DataSource through every QueryExecutionListener bean: SqlStatementListener, plus
+// whatever a test registers to see the statements. Only the primary "dataSource" bean is wrapped: it is what
+// JPA, Flyway and JdbcTemplate use, and the pool beans behind it keep their own type.
+@Component
+public class SqlStatementDataSourceWrapper implements BeanPostProcessor {
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    // Resolved lazily, a post-processor's own dependencies would otherwise be created too early to be proxied
+    private final ObjectProvider<QueryExecutionListener> listeners;
+
+    public SqlStatementDataSourceWrapper(ObjectProvider<QueryExecutionListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(DATA_SOURCE_BEAN);
+        listeners.orderedStream().forEach(builder::listener);
+        return builder.build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ne.rra_vehicle_ms.commons.sql;
+
+import com.ne.rra_vehicle_ms.config.SqlMetricsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Sees every JDBC execution through the proxied DataSource: times it per statement type, adds it to the
+// current SqlStatementScope and logs a sample of the slow ones with their bind values. It replaces the
+// org.hibernate.SQL / bind TRACE logging, which writes every statement and is unusable under load.
+@Component
+@Slf4j
+public class SqlStatementListener implements QueryExecutionListener {
+    private static final int MAX_LOGGED_VALUE_LENGTH = 200;
+
+    private final SqlMetricsConfig config;
+    private final Map<QueryType, Timer> timers = new EnumMap<>(QueryType.class);
+    private final Map<QueryType, Counter> slowCounters = new EnumMap<>(QueryType.class);
+
+    public SqlStatementListener(SqlMetricsConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        for (QueryType type : QueryType.values()) {
+            String operation = type.name().toLowerCase(Locale.ROOT);
+            timers.put(type, Timer.builder("db.statements")
+                    .description("JDBC statement executions")
+                    .tag("operation", operation)
+                    .register(meterRegistry));
+            slowCounters.put(type, Counter.builder("db.statements.slow")
+                    .description("JDBC statement executions slower than app.sql.slow-query-threshold")
+                    .tag("operation", operation)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        QueryType type = queryInfoList.isEmpty() ? QueryType.OTHER : QueryUtils.getQueryType(queryInfoList.get(0).getQuery());
+        timers.get(type).record(elapsedMillis, TimeUnit.MILLISECONDS);
+        // A JDBC batch is one round trip, so it counts as one statement
+        SqlStatementScope.record(1, elapsedMillis);
+
+        if (elapsedMillis >= config.getSlowQueryThreshold().toMillis()) {
+            slowCounters.get(type).increment();
+            if (ThreadLocalRandom.current().nextDouble() < config.getSlowQuerySampleRate()) {
+                log.warn("Slow SQL ({} ms{}): {}", elapsedMillis,
+                        execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "", describe(queryInfoList));
+            }
+        }
+    }
+
+    private String describe(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream().map(queryInfo -> {
+            if (!config.isLogBindValues() || queryInfo.getParametersList().isEmpty()) {
+                return queryInfo.getQuery();
+            }
+            // Only the first parameter set of a batch, the others follow the same shape
+            String values = queryInfo.getParametersList().get(0).stream()
+                    .map(this::value)
+                    .collect(Collectors.joining(", ", "[", "]"));
+            return queryInfo.getQuery() + " " + values;
+        }).collect(Collectors.joining("; "));
+    }
+
+    private String value(ParameterSetOperation operation) {
+        Object[] args = operation.getArgs();
+        String value = args.length > 1 ? String.valueOf(args[1]) : "";
+        return value.length() > MAX_LOGGED_VALUE_LENGTH ? value.substring(0, MAX_LOGGED_VALUE_LENGTH) + "..." : value;
+    }
+}
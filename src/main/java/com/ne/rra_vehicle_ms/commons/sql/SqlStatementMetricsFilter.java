@@ -0,0 +1,63 @@
+package com.ne.rra_vehicle_ms.commons.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Statements and database time per HTTP request, tagged like http.server.requests (method and uri template).
+// Runs ahead of the security filters so the statements of authentication are included. A @SqlStatementBudget on
+// the handler method is checked against the whole request once it has completed.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementBudgetChecker budgetChecker;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int statements;
+        String uri;
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                // Unmatched requests (404s, scanners) share one tag value to keep the cardinality bounded
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                uri = pattern == null ? "UNKNOWN" : pattern.toString();
+                DistributionSummary.builder("http.server.requests.db.statements")
+                        .description("SQL statements per HTTP request")
+                        .tags("method", request.getMethod(), "uri", uri)
+                        .register(meterRegistry)
+                        .record(scope.getStatements());
+                Timer.builder("http.server.requests.db.time")
+                        .description("Database time per HTTP request")
+                        .tags("method", request.getMethod(), "uri", uri)
+                        .register(meterRegistry)
+                        .record(scope.getElapsedMillis(), TimeUnit.MILLISECONDS);
+            }
+            statements = scope.getStatements();
+        }
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+            SqlStatementBudget budget = handlerMethod.getMethodAnnotation(SqlStatementBudget.class);
+            if (budget != null) {
+                budgetChecker.check(request.getMethod() + " " + uri, statements, budget);
+            }
+        }
+    }
+}
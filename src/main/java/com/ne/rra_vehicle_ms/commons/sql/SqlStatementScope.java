@@ -0,0 +1,49 @@
+package com.ne.rra_vehicle_ms.commons.sql;
+
+// Statements and database time of a unit of work (an HTTP request, a service call, a budgeted method) on the
+// current thread. Scopes nest: a statement is counted in the innermost open scope, and a scope adds its totals
+// to the enclosing one when it closes, so every open scope sees the statements run inside it.
+public final class SqlStatementScope implements AutoCloseable {
+    private static final ThreadLocal<SqlStatementScope> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatementScope parent;
+    private int statements;
+    private long elapsedMillis;
+
+    private SqlStatementScope(SqlStatementScope parent) {
+        this.parent = parent;
+    }
+
+    public static SqlStatementScope open() {
+        SqlStatementScope scope = new SqlStatementScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void record(int statements, long elapsedMillis) {
+        SqlStatementScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements += statements;
+            scope.elapsedMillis += elapsedMillis;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public void close() {
+        if (parent != null) {
+            parent.statements += statements;
+            parent.elapsedMillis += elapsedMillis;
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ne.rra_vehicle_ms.config;
+
+import java.util.Set;
+
+public final class CacheNames {
+    public static final String PAYSLIPS_BY_MONTH = "payslips-by-month";
+    public static final String EMPLOYEE_REFERENCES = "employee-references";
+    public static final String EMPLOYEE_CREDENTIALS = "employee-credentials";
+    public static final String DEDUCTIONS = "deductions";
+    public static final String DEDUCTIONS_BY_NAME = "deductions-by-name";
+    public static final String CURRENT_EMPLOYMENTS = "current-employments";
+    public static final String PAYROLL_COSTS = "payroll-costs";
+    public static final String PAYROLL_TRENDS = "payroll-trends";
+
+    public static final Set<String> ALL = Set.of(PAYSLIPS_BY_MONTH, EMPLOYEE_REFERENCES, EMPLOYEE_CREDENTIALS,
+            DEDUCTIONS, DEDUCTIONS_BY_NAME, CURRENT_EMPLOYMENTS, PAYROLL_COSTS, PAYROLL_TRENDS);
+
+    private CacheNames() {
+    }
+}
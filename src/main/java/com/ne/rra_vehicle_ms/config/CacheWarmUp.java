@@ -0,0 +1,84 @@
+package com.ne.rra_vehicle_ms.config;
+
+import com.ne.rra_vehicle_ms.commons.cache.TwoTierCache;
+import com.ne.rra_vehicle_ms.commons.cache.TwoTierCacheManager;
+import com.ne.rra_vehicle_ms.deductions.dtos.DeductionResponseDto;
+import com.ne.rra_vehicle_ms.deductions.services.DeductionService;
+import com.ne.rra_vehicle_ms.employee.dtos.EmployeeReference;
+import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
+import com.ne.rra_vehicle_ms.employee.services.EmployeeLookupService;
+import com.ne.rra_vehicle_ms.employment.services.EmploymentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Preloads the data every payroll run reads so the first requests after a deploy do not pay for a cold cache.
+// Spring Boot only reports the readiness state ACCEPTING_TRAFFIC after ApplicationReadyEvent listeners return,
+// so running synchronously here keeps the instance out of the load balancer until warm-up is done or times out.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmUp {
+    private final TwoTierCacheManager cacheManager;
+    private final NearCacheConfig nearCacheConfig;
+    private final DeductionService deductionService;
+    private final EmployeeLookupService employeeLookupService;
+    private final EmploymentService employmentService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!nearCacheConfig.isWarmUpEnabled()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "cache-warm-up"));
+        Future<?> warmUp = executor.submit(this::loadCaches);
+        try {
+            warmUp.get(nearCacheConfig.getWarmUpTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Cache warm-up finished in {} ms", System.currentTimeMillis() - started);
+        } catch (TimeoutException e) {
+            warmUp.cancel(true);
+            log.warn("Cache warm-up did not finish within {}, continuing with a partially warm cache", nearCacheConfig.getWarmUpTimeout());
+        } catch (ExecutionException e) {
+            // A cold cache is slower, not broken, so startup carries on
+            log.warn("Cache warm-up failed, continuing with a cold cache", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void loadCaches() {
+        // Goes through the cache, so a list another node already cached is reused instead of re-read
+        List<DeductionResponseDto> deductions = deductionService.getAllDeductions();
+        Map<String, DeductionResponseDto> deductionsByName = new LinkedHashMap<>();
+        deductions.forEach(deduction -> deductionsByName.put(deduction.deductionName(), deduction));
+        cache(CacheNames.DEDUCTIONS_BY_NAME).putAll(deductionsByName);
+
+        Map<Object, EmployeeReference> references = new LinkedHashMap<>();
+        employeeLookupService.getReferencesByStatus(EmployeeStatus.ACTIVE)
+                .forEach(reference -> references.put(reference.id(), reference));
+        cache(CacheNames.EMPLOYEE_REFERENCES).putAll(references);
+
+        cache(CacheNames.CURRENT_EMPLOYMENTS).putAll(employmentService.getCurrentEmploymentsByEmployee());
+
+        log.debug("Warmed {} deductions, {} employees", deductionsByName.size(), references.size());
+    }
+
+    private TwoTierCache cache(String name) {
+        return (TwoTierCache) cacheManager.getCache(name);
+    }
+}
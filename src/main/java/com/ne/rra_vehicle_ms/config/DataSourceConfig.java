@@ -0,0 +1,76 @@
+package com.ne.rra_vehicle_ms.config;
+
+import com.ne.rra_vehicle_ms.commons.datasource.ReplicaLagMonitor;
+import com.ne.rra_vehicle_ms.commons.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+// Replaces the auto-configured DataSource when a replica is configured. The lazy proxy only fetches a
+// physical connection at the first statement, after the transaction manager has marked it read-only,
+// so @Transactional(readOnly = true) work is served by the replica and everything else by the primary.
+// Cache loads are the exception: they are marked @ReadFromPrimary so a reload after an eviction sees the write.
+// Both pools are HikariDataSource beans, so Boot publishes hikaricp.* metrics for each (pool=primary|replica).
+// Requires spring.jpa.open-in-view=false: an open session holds the connection of the request's first transaction,
+// so after a read-only one, later writes in the same request would reach the read-only replica.
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class DataSourceConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties, ReplicaDataSourceConfig replicaConfig) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(replicaConfig.getUrl());
+        dataSource.setUsername(StringUtils.hasText(replicaConfig.getUsername())
+                ? replicaConfig.getUsername() : properties.determineUsername());
+        dataSource.setPassword(StringUtils.hasText(replicaConfig.getPassword())
+                ? replicaConfig.getPassword() : properties.determinePassword());
+        dataSource.setMaximumPoolSize(replicaConfig.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                               @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                               ReplicaDataSourceConfig replicaConfig,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, replicaConfig.getMaxLag(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            throw new IllegalStateException("Read replica routing requires spring.jpa.open-in-view=false");
+        }
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry));
+        return dataSource;
+    }
+}
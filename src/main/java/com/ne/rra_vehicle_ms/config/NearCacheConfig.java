@@ -0,0 +1,31 @@
+package com.ne.rra_vehicle_ms.config;
+
+import com.ne.rra_vehicle_ms.commons.cache.CacheValueFormat;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.cache")
+@Data
+public class NearCacheConfig {
+    // Upper bound on entries held in memory per cache on each node
+    private long localMaximumSize = 10_000;
+    // How long a node may serve an entry from memory before re-reading Redis
+    private Duration localTtl = Duration.ofSeconds(60);
+    private Duration remoteTtl = Duration.ofMinutes(30);
+    // Credentials hold the password hash, so they are kept for a much shorter time
+    private Duration credentialsTtl = Duration.ofMinutes(5);
+    // Weight of the probabilistic early refresh, higher values recompute hot entries further ahead of expiry
+    private double earlyRefreshBeta = 1.0;
+    // Reference data is preloaded at startup, readiness is reported once it finishes or the timeout passes
+    private boolean warmUpEnabled = true;
+    private Duration warmUpTimeout = Duration.ofSeconds(30);
+    private String invalidationChannel = "cache-invalidation";
+    // Redis value encoding per cache name, JSON when not listed
+    private Map<String, CacheValueFormat> valueFormats = new HashMap<>();
+}
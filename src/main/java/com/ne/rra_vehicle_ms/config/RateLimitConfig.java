@@ -0,0 +1,19 @@
+package com.ne.rra_vehicle_ms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitConfig {
+    // Share of the tokens Redis last reported left that a node may hand out without asking again
+    private double localAllowanceFraction = 0.1;
+    // How long a Redis answer may be relied on for local decisions
+    private Duration localSyncInterval = Duration.ofSeconds(1);
+    // Upper bound on keys (IPs, emails, ...) tracked locally per node
+    private long localMaximumKeys = 100_000;
+}
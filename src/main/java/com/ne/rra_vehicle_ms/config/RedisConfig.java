@@ -1,20 +1,43 @@
 package com.ne.rra_vehicle_ms.config;
 
-import org.springframework.cache.CacheManager;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ne.rra_vehicle_ms.commons.cache.CacheValueFormat;
+import com.ne.rra_vehicle_ms.commons.cache.SmileRedisSerializer;
+import com.ne.rra_vehicle_ms.commons.cache.TwoTierCacheManager;
+import com.ne.rra_vehicle_ms.deductions.dtos.DeductionResponseDto;
+import com.ne.rra_vehicle_ms.employee.dtos.EmployeeCredentials;
+import com.ne.rra_vehicle_ms.employee.dtos.EmployeeReference;
+import com.ne.rra_vehicle_ms.employment.dtos.EmploymentResponseDto;
+import com.ne.rra_vehicle_ms.payslip.dtos.PayrollCostResponseDto;
+import com.ne.rra_vehicle_ms.payslip.dtos.PayrollTrendResponseDto;
+import com.ne.rra_vehicle_ms.payslip.dtos.PayslipResponseDto;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @Configuration
+@EnableCaching
 public class RedisConfig {
     @Bean
     public ValueOperations<String, String> valueOperations(RedisTemplate<String, String> redisTemplate){
@@ -26,19 +49,91 @@ public class RedisConfig {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
         redisTemplate.setConnectionFactory(redisConnectionFactory);
         redisTemplate.setKeySerializer(new StringRedisSerializer());
-        redisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        redisTemplate.setValueSerializer(jsonSerializer());
         return redisTemplate;
     }
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory){
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                            StringRedisTemplate stringRedisTemplate,
+                                            NearCacheConfig nearCacheConfig){
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
-                .entryTtl(Duration.ofMinutes(30));
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer()))
+                .disableCachingNullValues()
+                .entryTtl(nearCacheConfig.getRemoteTtl());
 
-        return RedisCacheManager.builder(redisConnectionFactory)
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        cacheValueTypes().forEach((cacheName, valueType) ->
+                cacheConfigurations.put(cacheName, cacheConfiguration(config, cacheName, valueType, nearCacheConfig)));
+
+        RedisCacheManager remoteCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(config)
+                .initialCacheNames(CacheNames.ALL)
+                .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
+        remoteCacheManager.initializeCaches();
+
+        // Caches are declared up front so their hit/miss metrics are bound to the meter registry at startup
+        return new TwoTierCacheManager(
+                remoteCacheManager,
+                stringRedisTemplate,
+                nearCacheConfig.getInvalidationChannel(),
+                nearCacheConfig.getLocalMaximumSize(),
+                nearCacheConfig.getLocalTtl(),
+                nearCacheConfig.getEarlyRefreshBeta(),
+                CacheNames.ALL);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            TwoTierCacheManager cacheManager,
+                                                                            NearCacheConfig nearCacheConfig){
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(nearCacheConfig.getInvalidationChannel()));
+        return container;
+    }
+
+    // Value type of every cache, used by the typed (schema-aware) binary serializer
+    static Map<String, JavaType> cacheValueTypes() {
+        TypeFactory typeFactory = SmileRedisSerializer.mapper().getTypeFactory();
+        return Map.of(
+                CacheNames.PAYSLIPS_BY_MONTH, typeFactory.constructCollectionType(List.class, PayslipResponseDto.class),
+                CacheNames.EMPLOYEE_REFERENCES, typeFactory.constructType(EmployeeReference.class),
+                CacheNames.EMPLOYEE_CREDENTIALS, typeFactory.constructType(EmployeeCredentials.class),
+                CacheNames.DEDUCTIONS, typeFactory.constructCollectionType(List.class, DeductionResponseDto.class),
+                CacheNames.DEDUCTIONS_BY_NAME, typeFactory.constructType(DeductionResponseDto.class),
+                CacheNames.CURRENT_EMPLOYMENTS, typeFactory.constructType(EmploymentResponseDto.class),
+                CacheNames.PAYROLL_COSTS, typeFactory.constructCollectionType(List.class, PayrollCostResponseDto.class),
+                CacheNames.PAYROLL_TRENDS, typeFactory.constructCollectionType(List.class, PayrollTrendResponseDto.class)
+        );
+    }
+
+    private static RedisCacheConfiguration cacheConfiguration(RedisCacheConfiguration defaults,
+                                                              String cacheName,
+                                                              JavaType valueType,
+                                                              NearCacheConfig nearCacheConfig) {
+        CacheValueFormat format = nearCacheConfig.getValueFormats().getOrDefault(cacheName, CacheValueFormat.JSON);
+        RedisCacheConfiguration config = defaults;
+        if (format == CacheValueFormat.SMILE) {
+            config = config.serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new SmileRedisSerializer<>(valueType)));
+        }
+        if (CacheNames.EMPLOYEE_CREDENTIALS.equals(cacheName)) {
+            config = config.entryTtl(nearCacheConfig.getCredentialsTtl());
+        }
+        // The format is part of the key so switching it never reads entries written in the other encoding
+        String prefix = "::" + format.name().toLowerCase(Locale.ROOT) + "::";
+        return config.computePrefixWith(name -> name + prefix);
+    }
+
+    // Cached values are records with java.time fields, which the serializer's default mapper cannot handle
+    static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.activateDefaultTyping(objectMapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.EVERYTHING, JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
     }
 }
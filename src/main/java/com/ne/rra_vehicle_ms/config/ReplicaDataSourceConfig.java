@@ -0,0 +1,22 @@
+package com.ne.rra_vehicle_ms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.replica")
+@Data
+public class ReplicaDataSourceConfig {
+    // Read-only transactions go to this database when set, everything runs on the primary otherwise
+    private String url;
+    // Default to the primary's credentials
+    private String username;
+    private String password;
+    private int maximumPoolSize = 10;
+    // Reads fall back to the primary while the replica is further behind than this
+    private Duration maxLag = Duration.ofSeconds(10);
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+}
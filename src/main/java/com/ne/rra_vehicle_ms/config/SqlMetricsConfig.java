@@ -0,0 +1,21 @@
+package com.ne.rra_vehicle_ms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.sql")
+@Data
+public class SqlMetricsConfig {
+    // Statements at least this slow are counted as slow and may be logged
+    private Duration slowQueryThreshold = Duration.ofMillis(500);
+    // Share of slow statements that are logged, all of them are counted
+    private double slowQuerySampleRate = 0.1;
+    // Bind values can hold personal data, they are only written to the slow query log when enabled
+    private boolean logBindValues = false;
+    // Throw instead of only logging when a method exceeds its @SqlStatementBudget, meant for tests
+    private boolean enforceBudgets = false;
+}
@@ -1,5 +1,6 @@
 package com.ne.rra_vehicle_ms.deductions.controllers;
 
+import com.ne.rra_vehicle_ms.deductions.dtos.DeductionResponseDto;
 import com.ne.rra_vehicle_ms.deductions.entities.Deduction;
 import com.ne.rra_vehicle_ms.deductions.services.DeductionService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -66,7 +67,7 @@ public class DeductionController {
             @ApiResponse(responseCode = "404", description = "Deduction not found"),
             @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN or MANAGER role")
     })
-    public ResponseEntity<Deduction> getDeductionByName(@PathVariable String name) {
+    public ResponseEntity<DeductionResponseDto> getDeductionByName(@PathVariable String name) {
         return ResponseEntity.ok(deductionService.getDeductionByName(name));
     }
 
@@ -77,7 +78,7 @@ public class DeductionController {
             @ApiResponse(responseCode = "200", description = "Deductions retrieved successfully"),
             @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN, MANAGER or EMPLOYEE role")
     })
-    public ResponseEntity<List<Deduction>> getAllDeductions() {
+    public ResponseEntity<List<DeductionResponseDto>> getAllDeductions() {
         return ResponseEntity.ok(deductionService.getAllDeductions());
     }
 
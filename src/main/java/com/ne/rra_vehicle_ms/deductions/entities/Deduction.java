@@ -1,6 +1,6 @@
 package com.ne.rra_vehicle_ms.deductions.entities;
 
-import com.ne.rra_vehicle_ms.commons.generators.Base36Generator;
+import com.ne.rra_vehicle_ms.commons.generators.SequenceCode;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.GenericGenerator;
@@ -24,15 +24,9 @@ public class Deduction {
     private UUID id;
 
     @Column(nullable = false, unique = true)
+    @SequenceCode(prefix = "DED", sequence = "deduction_code_seq")
     private String code;
 
-    @PrePersist
-    protected void onCreate() {
-        if (this.code == null) {
-            String prefix = "DED";
-            this.code = prefix + String.format("%03d", System.nanoTime() % 1000);
-        }
-    }
     @Column(name = "deduction_name", nullable = false, unique = true)
     private String deductionName;
 
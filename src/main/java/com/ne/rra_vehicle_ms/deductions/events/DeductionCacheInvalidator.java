@@ -0,0 +1,29 @@
+package com.ne.rra_vehicle_ms.deductions.events;
+
+import com.ne.rra_vehicle_ms.config.CacheNames;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeductionCacheInvalidator {
+    private final CacheManager cacheManager;
+
+    // After commit, so a concurrent read cannot re-cache the row that is being changed
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeductionsChanged(DeductionsChangedEvent event) {
+        for (String cacheName : new String[]{CacheNames.DEDUCTIONS, CacheNames.DEDUCTIONS_BY_NAME}) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        log.debug("Cleared cached deductions");
+    }
+}
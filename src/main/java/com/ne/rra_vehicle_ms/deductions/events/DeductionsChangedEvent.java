@@ -0,0 +1,5 @@
+package com.ne.rra_vehicle_ms.deductions.events;
+
+// Deductions are few and read as a whole, so any change invalidates every cached deduction
+public record DeductionsChangedEvent() {
+}
@@ -1,11 +1,17 @@
 package com.ne.rra_vehicle_ms.deductions.services;
 
+import com.ne.rra_vehicle_ms.commons.datasource.ReadFromPrimary;
+import com.ne.rra_vehicle_ms.config.CacheNames;
+import com.ne.rra_vehicle_ms.deductions.dtos.DeductionResponseDto;
 import com.ne.rra_vehicle_ms.deductions.entities.Deduction;
+import com.ne.rra_vehicle_ms.deductions.events.DeductionsChangedEvent;
+import com.ne.rra_vehicle_ms.deductions.mappers.DeductionMapper;
 import com.ne.rra_vehicle_ms.deductions.repositories.DeductionRepository;
-import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +23,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class DeductionService {
     private final DeductionRepository deductionRepository;
+    private final DeductionMapper deductionMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Deduction createDeduction(Deduction deduction) {
@@ -31,7 +39,9 @@ public class DeductionService {
         // Validate percentage (should be between 0 and 100)
         validatePercentage(deduction.getPercentage());
         
-        return deductionRepository.save(deduction);
+        Deduction savedDeduction = deductionRepository.save(deduction);
+        eventPublisher.publishEvent(new DeductionsChangedEvent());
+        return savedDeduction;
     }
 
     @Transactional(readOnly = true)
@@ -46,15 +56,22 @@ public class DeductionService {
                 .orElseThrow(() -> new EntityNotFoundException("Deduction with code " + code + " not found"));
     }
 
+    // Read for every payslip calculation, so it is cached and loaded once per key across concurrent callers.
+    // Cached as the immutable DTO, never the entity, since the local tier hands one instance to every thread
     @Transactional(readOnly = true)
-    public Deduction getDeductionByName(String name) {
+    @ReadFromPrimary
+    @Cacheable(cacheNames = CacheNames.DEDUCTIONS_BY_NAME, key = "#name", sync = true)
+    public DeductionResponseDto getDeductionByName(String name) {
         return deductionRepository.findByDeductionName(name)
+                .map(deductionMapper::toResponseDto)
                 .orElseThrow(() -> new EntityNotFoundException("Deduction with name " + name + " not found"));
     }
 
     @Transactional(readOnly = true)
-    public List<Deduction> getAllDeductions() {
-        return deductionRepository.findAll();
+    @ReadFromPrimary
+    @Cacheable(cacheNames = CacheNames.DEDUCTIONS, key = "'all'", sync = true)
+    public List<DeductionResponseDto> getAllDeductions() {
+        return deductionMapper.toResponseDtoList(deductionRepository.findAll());
     }
 
     @Transactional
@@ -73,13 +90,16 @@ public class DeductionService {
         validatePercentage(deductionDetails.getPercentage());
         deduction.setPercentage(deductionDetails.getPercentage());
         
-        return deductionRepository.save(deduction);
+        Deduction updatedDeduction = deductionRepository.save(deduction);
+        eventPublisher.publishEvent(new DeductionsChangedEvent());
+        return updatedDeduction;
     }
 
     @Transactional
     public void deleteDeduction(UUID id) {
         Deduction deduction = getDeductionById(id);
         deductionRepository.delete(deduction);
+        eventPublisher.publishEvent(new DeductionsChangedEvent());
     }
     
     private void validatePercentage(BigDecimal percentage) {
@@ -1,7 +1,11 @@
 package com.ne.rra_vehicle_ms.employee.controllers;
 
+import com.ne.rra_vehicle_ms.commons.dtos.BatchLookupRequestDto;
+import com.ne.rra_vehicle_ms.commons.dtos.BatchLookupResult;
+import com.ne.rra_vehicle_ms.commons.dtos.CursorPageResponse;
 import com.ne.rra_vehicle_ms.employee.dtos.EmployeeRequestDto;
 import com.ne.rra_vehicle_ms.employee.dtos.EmployeeResponseDto;
+import com.ne.rra_vehicle_ms.employee.dtos.EmployeeSearchResultDto;
 import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
 import com.ne.rra_vehicle_ms.employee.services.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +15,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -53,6 +60,18 @@ public class EmployeeController {
         return ResponseEntity.ok(employeeService.getEmployeeById(id));
     }
 
+    @Operation(summary = "Get employees by ids", description = "Retrieves up to " + BatchLookupRequestDto.MAX_IDS + " employees in one request. Results follow the request order and ids without a match are marked as not found. Requires ADMIN or MANAGER role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lookup completed"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized id list"),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<List<BatchLookupResult<EmployeeResponseDto>>> getEmployeesByIds(@Valid @RequestBody BatchLookupRequestDto request) {
+        return ResponseEntity.ok(employeeService.getEmployeesByIds(request.ids()));
+    }
+
     @Operation(summary = "Get employee by email", description = "Retrieves an employee by their email address. Requires ADMIN or MANAGER role.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee found",
@@ -91,6 +110,21 @@ public class EmployeeController {
         return ResponseEntity.ok(employeeService.getAllEmployees());
     }
 
+    @Operation(summary = "Search employees", description = "Fuzzy search over first name, last name, code, email and mobile. Results are ranked by match quality and paged with the returned cursor. Requires ADMIN or MANAGER role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed"),
+            @ApiResponse(responseCode = "400", description = "Search term too short or invalid cursor"),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<CursorPageResponse<EmployeeSearchResultDto>> searchEmployees(
+            @RequestParam @Size(min = 3, max = 100, message = "Search term must be between 3 and 100 characters") String q,
+            @RequestParam(defaultValue = "20") @Min(value = 1, message = "Page size must be at least 1") @Max(value = 100, message = "Page size must be at most 100") int size,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(employeeService.searchEmployees(q, size, cursor));
+    }
+
     @Operation(summary = "Get employees by status", description = "Retrieves all employees with the specified status. Requires ADMIN or MANAGER role.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employees found",
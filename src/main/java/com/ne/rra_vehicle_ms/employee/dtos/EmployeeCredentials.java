@@ -0,0 +1,17 @@
+package com.ne.rra_vehicle_ms.employee.dtos;
+
+import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
+import com.ne.rra_vehicle_ms.employee.entities.Role;
+
+import java.util.UUID;
+
+// Login view of an employee, password being the stored hash
+public record EmployeeCredentials(
+        UUID id,
+        String email,
+        String password,
+        String mobile,
+        Role role,
+        EmployeeStatus status
+) {
+}
@@ -0,0 +1,18 @@
+package com.ne.rra_vehicle_ms.employee.dtos;
+
+import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
+import com.ne.rra_vehicle_ms.employee.entities.Role;
+
+import java.util.UUID;
+
+public record EmployeeReference(
+        UUID id,
+        String code,
+        String firstName,
+        String lastName,
+        String email,
+        String mobile,
+        Role role,
+        EmployeeStatus status
+) {
+}
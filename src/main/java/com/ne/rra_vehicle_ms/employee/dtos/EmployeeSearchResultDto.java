@@ -0,0 +1,20 @@
+package com.ne.rra_vehicle_ms.employee.dtos;
+
+import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
+import com.ne.rra_vehicle_ms.employee.entities.Role;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record EmployeeSearchResultDto(
+        UUID id,
+        String code,
+        String firstName,
+        String lastName,
+        String email,
+        String mobile,
+        Role role,
+        EmployeeStatus status,
+        BigDecimal score
+) {
+}
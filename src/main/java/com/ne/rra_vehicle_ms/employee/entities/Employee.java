@@ -1,5 +1,7 @@
 package com.ne.rra_vehicle_ms.employee.entities;
 
+import com.ne.rra_vehicle_ms.commons.generators.SequenceCode;
+import com.ne.rra_vehicle_ms.commons.generators.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.GenericGenerator;
@@ -20,18 +22,11 @@ import java.util.UUID;
 @Builder
 public class Employee {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
-
-    @PrePersist
-    public void generateCode() {
-        if (this.code == null) {
-            this.code = "EMP-" + String.format("%03d", System.nanoTime() % 1000);
-        }
-    }
-
     @Column(nullable = false, unique = true)
+    @SequenceCode(prefix = "EMP", sequence = "employee_code_seq")
     private String code;
 
     @Column(nullable = false)
@@ -0,0 +1,35 @@
+package com.ne.rra_vehicle_ms.employee.events;
+
+import com.ne.rra_vehicle_ms.config.CacheNames;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeCacheInvalidator {
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        Cache references = cacheManager.getCache(CacheNames.EMPLOYEE_REFERENCES);
+        if (references != null) {
+            references.evict(event.employeeId());
+        }
+        Cache credentials = cacheManager.getCache(CacheNames.EMPLOYEE_CREDENTIALS);
+        if (credentials != null) {
+            event.emails().forEach(credentials::evict);
+        }
+        // Current employments embed the employee, so they go stale with it
+        Cache currentEmployments = cacheManager.getCache(CacheNames.CURRENT_EMPLOYMENTS);
+        if (currentEmployments != null) {
+            currentEmployments.evict(event.employeeId());
+        }
+        log.debug("Evicted cached employee {}", event.employeeId());
+    }
+}
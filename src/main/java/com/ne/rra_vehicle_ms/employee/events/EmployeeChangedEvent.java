@@ -0,0 +1,14 @@
+package com.ne.rra_vehicle_ms.employee.events;
+
+import java.util.List;
+import java.util.UUID;
+
+// emails lists every address the employee was cached under, old and new when it changes
+public record EmployeeChangedEvent(
+        UUID employeeId,
+        List<String> emails
+) {
+    public EmployeeChangedEvent(UUID employeeId, String email) {
+        this(employeeId, List.of(email));
+    }
+}
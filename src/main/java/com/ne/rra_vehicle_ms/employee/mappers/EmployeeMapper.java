@@ -1,5 +1,7 @@
 package com.ne.rra_vehicle_ms.employee.mappers;
 
+import com.ne.rra_vehicle_ms.employee.dtos.EmployeeCredentials;
+import com.ne.rra_vehicle_ms.employee.dtos.EmployeeReference;
 import com.ne.rra_vehicle_ms.employee.dtos.EmployeeRequestDto;
 import com.ne.rra_vehicle_ms.employee.dtos.EmployeeResponseDto;
 import com.ne.rra_vehicle_ms.employee.entities.Employee;
@@ -18,5 +20,9 @@ public interface EmployeeMapper {
 
     EmployeeResponseDto toResponseDto(Employee employee);
 
+    EmployeeReference toReference(Employee employee);
+
+    EmployeeCredentials toCredentials(Employee employee);
+
     List<EmployeeResponseDto> toResponseDtoList(List<Employee> employees);
 }
\ No newline at end of file
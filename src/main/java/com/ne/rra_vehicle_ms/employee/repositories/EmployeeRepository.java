@@ -3,8 +3,11 @@ package com.ne.rra_vehicle_ms.employee.repositories;
 import com.ne.rra_vehicle_ms.employee.entities.Employee;
 import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,4 +21,34 @@ public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
     boolean existsByEmail(String email);
     boolean existsByMobile(String mobile);
     boolean existsByCode(String code);
-}
\ No newline at end of file
+
+    // Both search queries filter on the trigram-indexed search_text column (see V2 migration)
+    // and page by (score, id) so deep pages cost the same as the first one. The term is matched literally:
+    // its LIKE wildcards and the escape character are escaped, so "_" or "%" cannot match every row.
+    String SEARCH_QUERY = """
+            SELECT * FROM (
+                SELECT e.id AS "id", e.code AS "code", e.first_name AS "firstName", e.last_name AS "lastName",
+                       e.email AS "email", e.mobile AS "mobile", e.role AS "role", e.status AS "status",
+                       CAST(word_similarity(:term, e.search_text) AS NUMERIC(5, 4)) AS "score"
+                FROM employees e
+                WHERE e.search_text LIKE '%' || replace(replace(replace(:term, '\\', '\\\\'), '%', '\\%'), '_', '\\_') || '%' ESCAPE '\\'
+                   OR :term <% e.search_text
+            ) ranked
+            """;
+
+    @Query(value = SEARCH_QUERY + """
+            ORDER BY ranked."score" DESC, ranked."id"
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<EmployeeSearchRow> search(@Param("term") String term, @Param("limit") int limit);
+
+    @Query(value = SEARCH_QUERY + """
+            WHERE ranked."score" < :lastScore OR (ranked."score" = :lastScore AND ranked."id" > :lastId)
+            ORDER BY ranked."score" DESC, ranked."id"
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<EmployeeSearchRow> searchAfter(@Param("term") String term,
+                                        @Param("lastScore") BigDecimal lastScore,
+                                        @Param("lastId") UUID lastId,
+                                        @Param("limit") int limit);
+}
@@ -0,0 +1,16 @@
+package com.ne.rra_vehicle_ms.employee.repositories;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface EmployeeSearchRow {
+    UUID getId();
+    String getCode();
+    String getFirstName();
+    String getLastName();
+    String getEmail();
+    String getMobile();
+    String getRole();
+    String getStatus();
+    BigDecimal getScore();
+}
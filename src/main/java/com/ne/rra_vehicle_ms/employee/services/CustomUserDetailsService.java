@@ -1,29 +1,45 @@
 package com.ne.rra_vehicle_ms.employee.services;
 
 import com.ne.rra_vehicle_ms.employee.entities.Employee;
-import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
+import com.ne.rra_vehicle_ms.employee.events.EmployeeChangedEvent;
+import com.ne.rra_vehicle_ms.employee.mappers.EmployeeMapper;
 import com.ne.rra_vehicle_ms.employee.repositories.EmployeeRepository;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    private final EmployeeLookupService employeeLookupService;
     private final EmployeeRepository employeeRepository;
+    private final EmployeeMapper employeeMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Employee employee = employeeRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
+        try {
+            return new EmployeeUserDetails(employeeLookupService.getCredentials(username));
+        } catch (EntityNotFoundException e) {
+            throw new UsernameNotFoundException("User not found with email: " + username);
+        }
+    }
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(employee.getEmail())
-                .password(employee.getPassword())
-                .roles(employee.getRole().name().substring(5))
-                .disabled(!employee.getStatus().equals(EmployeeStatus.ACTIVE))
-                .build();
+    // Called after a successful login whose stored hash is weaker than the configured BCrypt strength
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Employee employee = employeeRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + user.getUsername()));
+        employee.setPassword(newPassword);
+        Employee updatedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(updatedEmployee.getId(), updatedEmployee.getEmail()));
+        return new EmployeeUserDetails(employeeMapper.toCredentials(updatedEmployee));
     }
-}
\ No newline at end of file
+}
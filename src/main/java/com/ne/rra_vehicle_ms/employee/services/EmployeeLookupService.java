@@ -0,0 +1,54 @@
+package com.ne.rra_vehicle_ms.employee.services;
+
+import com.ne.rra_vehicle_ms.commons.datasource.ReadFromPrimary;
+import com.ne.rra_vehicle_ms.config.CacheNames;
+import com.ne.rra_vehicle_ms.employee.dtos.EmployeeCredentials;
+import com.ne.rra_vehicle_ms.employee.dtos.EmployeeReference;
+import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
+import com.ne.rra_vehicle_ms.employee.mappers.EmployeeMapper;
+import com.ne.rra_vehicle_ms.employee.repositories.EmployeeRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+// Read-through cache of employee reference data for cross-module lookups.
+// Kept apart from EmployeeService so calls from there still go through the cache proxy.
+@Service
+@RequiredArgsConstructor
+public class EmployeeLookupService {
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeMapper employeeMapper;
+
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @Cacheable(cacheNames = CacheNames.EMPLOYEE_REFERENCES, key = "#id", sync = true)
+    public EmployeeReference getReference(UUID id) {
+        return employeeRepository.findById(id)
+                .map(employeeMapper::toReference)
+                .orElseThrow(() -> new EntityNotFoundException("Employee with id " + id + " not found"));
+    }
+
+    // Short-lived (see app.cache.credentials-ttl) and evicted on password, status and role changes
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @Cacheable(cacheNames = CacheNames.EMPLOYEE_CREDENTIALS, key = "#email", sync = true)
+    public EmployeeCredentials getCredentials(String email) {
+        return employeeRepository.findByEmail(email)
+                .map(employeeMapper::toCredentials)
+                .orElseThrow(() -> new EntityNotFoundException("Employee with email " + email + " not found"));
+    }
+
+    // Not cached itself, used to fill the reference cache in bulk
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    public List<EmployeeReference> getReferencesByStatus(EmployeeStatus status) {
+        return employeeRepository.findByStatus(status).stream()
+                .map(employeeMapper::toReference)
+                .toList();
+    }
+}
@@ -1,22 +1,35 @@
 package com.ne.rra_vehicle_ms.employee.services;
 
+import com.ne.rra_vehicle_ms.commons.dtos.BatchLookupResult;
+import com.ne.rra_vehicle_ms.commons.dtos.CursorPageResponse;
+import com.ne.rra_vehicle_ms.commons.exceptions.BadRequestException;
+import com.ne.rra_vehicle_ms.employee.dtos.EmployeeReference;
 import com.ne.rra_vehicle_ms.employee.dtos.EmployeeRequestDto;
 import com.ne.rra_vehicle_ms.employee.dtos.EmployeeResponseDto;
+import com.ne.rra_vehicle_ms.employee.dtos.EmployeeSearchResultDto;
 import com.ne.rra_vehicle_ms.employee.entities.Employee;
 import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
 import com.ne.rra_vehicle_ms.employee.entities.Role;
+import com.ne.rra_vehicle_ms.employee.events.EmployeeChangedEvent;
 import com.ne.rra_vehicle_ms.employee.mappers.EmployeeMapper;
 import com.ne.rra_vehicle_ms.employee.repositories.EmployeeRepository;
+import com.ne.rra_vehicle_ms.employee.repositories.EmployeeSearchRow;
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @Service
@@ -25,6 +38,8 @@ public class EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmployeeMapper employeeMapper;
+    private final EmployeeLookupService employeeLookupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // seed the admin and manager of the system
     @PostConstruct
@@ -85,6 +100,12 @@ public class EmployeeService {
         return employeeMapper.toResponseDto(employee);
     }
 
+    @Transactional(readOnly = true)
+    public List<BatchLookupResult<EmployeeResponseDto>> getEmployeesByIds(List<UUID> ids) {
+        List<Employee> employees = employeeRepository.findAllById(new HashSet<>(ids));
+        return BatchLookupResult.inRequestOrder(ids, employeeMapper.toResponseDtoList(employees), EmployeeResponseDto::id);
+    }
+
     @Transactional(readOnly = true)
     public EmployeeResponseDto getEmployeeByEmail(String email) {
         Employee employee = employeeRepository.findByEmail(email)
@@ -111,9 +132,46 @@ public class EmployeeService {
         return employeeMapper.toResponseDtoList(employees);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<EmployeeSearchResultDto> searchEmployees(String query, int size, String cursor) {
+        String term = query.trim().toLowerCase(Locale.ROOT);
+
+        // Fetch one extra row to know whether another page exists
+        List<EmployeeSearchRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = employeeRepository.search(term, size + 1);
+        } else {
+            SearchCursor after = SearchCursor.decode(cursor);
+            rows = employeeRepository.searchAfter(term, after.score(), after.id(), size + 1);
+        }
+
+        boolean last = rows.size() <= size;
+        List<EmployeeSearchResultDto> content = rows.stream()
+                .limit(size)
+                .map(row -> new EmployeeSearchResultDto(
+                        row.getId(),
+                        row.getCode(),
+                        row.getFirstName(),
+                        row.getLastName(),
+                        row.getEmail(),
+                        row.getMobile(),
+                        Role.valueOf(row.getRole()),
+                        EmployeeStatus.valueOf(row.getStatus()),
+                        row.getScore()))
+                .toList();
+
+        String nextCursor = null;
+        if (!last) {
+            EmployeeSearchResultDto tail = content.get(content.size() - 1);
+            nextCursor = new SearchCursor(tail.score(), tail.id()).encode();
+        }
+        return new CursorPageResponse<>(content, size, nextCursor, last);
+    }
+
     @Transactional
     public EmployeeResponseDto updateEmployee(UUID id, EmployeeRequestDto employeeDto) {
-        Employee employee = getEmployeeEntityById(id);
+        Employee employee = findEmployee(id);
+        String previousEmail = employee.getEmail();
         
         // Update fields
         employee.setFirstName(employeeDto.firstName());
@@ -138,33 +196,66 @@ public class EmployeeService {
         }
         
         Employee updatedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(id, List.of(previousEmail, updatedEmployee.getEmail())));
         return employeeMapper.toResponseDto(updatedEmployee);
     }
 
     @Transactional
     public void deleteEmployee(UUID id) {
-        Employee employee = getEmployeeEntityById(id);
+        Employee employee = findEmployee(id);
         employeeRepository.delete(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(id, employee.getEmail()));
     }
 
     @Transactional
     public EmployeeResponseDto updateEmployeeStatus(UUID id, EmployeeStatus status) {
-        Employee employee = getEmployeeEntityById(id);
+        Employee employee = findEmployee(id);
         employee.setStatus(status);
         Employee updatedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(id, updatedEmployee.getEmail()));
         return employeeMapper.toResponseDto(updatedEmployee);
     }
 
     @Transactional
     public EmployeeResponseDto updateEmployeePassword(UUID id, String newPassword) {
-        Employee employee = getEmployeeEntityById(id);
+        Employee employee = findEmployee(id);
         employee.setPassword(passwordEncoder.encode(newPassword));
         Employee updatedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(id, updatedEmployee.getEmail()));
         return employeeMapper.toResponseDto(updatedEmployee);
     }
 
-    // Add this public method to support other services that need the entity
+    // Opaque keyset position for search paging: the (score, id) of the last row returned
+    private record SearchCursor(BigDecimal score, UUID id) {
+        String encode() {
+            String raw = score.toPlainString() + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SearchCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                return new SearchCursor(new BigDecimal(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new BadRequestException("Invalid search cursor");
+            }
+        }
+    }
+
+    // Add this public method to support other services that need the entity.
+    // Existence is answered from the reference cache and the returned proxy only
+    // loads the row if the caller reads more than the id.
     public Employee getEmployeeEntityById(UUID id) {
+        employeeLookupService.getReference(id);
+        return employeeRepository.getReferenceById(id);
+    }
+
+    public EmployeeReference getEmployeeReference(UUID id) {
+        return employeeLookupService.getReference(id);
+    }
+
+    private Employee findEmployee(UUID id) {
         return employeeRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Employee with id " + id + " not found"));
     }
@@ -0,0 +1,32 @@
+package com.ne.rra_vehicle_ms.employee.services;
+
+import com.ne.rra_vehicle_ms.employee.dtos.EmployeeCredentials;
+import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
+import com.ne.rra_vehicle_ms.employee.entities.Role;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+import java.util.UUID;
+
+// Carries the token claims alongside the credentials so login does not need to reload the employee
+@Getter
+public class EmployeeUserDetails extends User {
+    private final UUID id;
+    private final String mobile;
+    private final Role role;
+
+    public EmployeeUserDetails(EmployeeCredentials credentials) {
+        super(credentials.email(),
+                credentials.password(),
+                credentials.status() == EmployeeStatus.ACTIVE,
+                true,
+                true,
+                true,
+                List.of(new SimpleGrantedAuthority(credentials.role().name())));
+        this.id = credentials.id();
+        this.mobile = credentials.mobile();
+        this.role = credentials.role();
+    }
+}
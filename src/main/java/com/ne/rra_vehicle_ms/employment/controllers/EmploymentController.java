@@ -1,5 +1,8 @@
 package com.ne.rra_vehicle_ms.employment.controllers;
 
+import com.ne.rra_vehicle_ms.commons.dtos.BatchLookupRequestDto;
+import com.ne.rra_vehicle_ms.commons.dtos.BatchLookupResult;
+import com.ne.rra_vehicle_ms.commons.sql.SqlStatementBudget;
 import com.ne.rra_vehicle_ms.employment.dtos.EmploymentRequestDto;
 import com.ne.rra_vehicle_ms.employment.dtos.EmploymentResponseDto;
 import com.ne.rra_vehicle_ms.employment.entities.EmploymentStatus;
@@ -54,6 +57,18 @@ public class EmploymentController {
         return ResponseEntity.ok(employmentService.getEmploymentById(id));
     }
 
+    @Operation(summary = "Get employments by ids", description = "Retrieves up to " + BatchLookupRequestDto.MAX_IDS + " employment records in one request. Results follow the request order and ids without a match are marked as not found. Requires ADMIN or MANAGER role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lookup completed"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized id list"),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<List<BatchLookupResult<EmploymentResponseDto>>> getEmploymentsByIds(@Valid @RequestBody BatchLookupRequestDto request) {
+        return ResponseEntity.ok(employmentService.getEmploymentsByIds(request.ids()));
+    }
+
     @Operation(summary = "Get employment by code", description = "Retrieves an employment record by its code. Requires ADMIN or MANAGER role.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employment found",
@@ -113,6 +128,7 @@ public class EmploymentController {
     })
     @GetMapping("/employee/{employeeId}/current")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @SqlStatementBudget(1)
     public ResponseEntity<EmploymentResponseDto> getCurrentEmployment(@PathVariable UUID employeeId) {
         return ResponseEntity.ok(employmentService.getCurrentEmployment(employeeId));
     }
@@ -1,5 +1,7 @@
 package com.ne.rra_vehicle_ms.employment.entities;
 
+import com.ne.rra_vehicle_ms.commons.generators.SequenceCode;
+import com.ne.rra_vehicle_ms.commons.generators.UuidV7;
 import com.ne.rra_vehicle_ms.employee.entities.Employee;
 import jakarta.persistence.*;
 import lombok.*;
@@ -21,19 +23,13 @@ import java.util.UUID;
 @Builder
 public class Employment {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false, unique = true)
+    @SequenceCode(prefix = "EMY", sequence = "employment_code_seq")
     private String code;
 
-    @PrePersist
-    public void generateCode() {
-        if (this.code == null) {
-            this.code = "EMY-" + String.format("%03d", System.nanoTime() % 1000);
-        }
-    }
-
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;
@@ -0,0 +1,27 @@
+package com.ne.rra_vehicle_ms.employment.events;
+
+import com.ne.rra_vehicle_ms.config.CacheNames;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmploymentCacheInvalidator {
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmploymentChanged(EmploymentChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheNames.CURRENT_EMPLOYMENTS);
+        if (cache == null) {
+            return;
+        }
+        event.employeeIds().forEach(cache::evict);
+        log.debug("Evicted cached current employment of {}", event.employeeIds());
+    }
+}
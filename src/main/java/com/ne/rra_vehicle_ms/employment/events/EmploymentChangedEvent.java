@@ -0,0 +1,13 @@
+package com.ne.rra_vehicle_ms.employment.events;
+
+import java.util.List;
+import java.util.UUID;
+
+// employeeIds lists every employee the employment belonged to, old and new when it is reassigned
+public record EmploymentChangedEvent(
+        List<UUID> employeeIds
+) {
+    public EmploymentChangedEvent(UUID employeeId) {
+        this(List.of(employeeId));
+    }
+}
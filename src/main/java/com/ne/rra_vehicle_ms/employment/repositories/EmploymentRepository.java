@@ -1,11 +1,15 @@
 package com.ne.rra_vehicle_ms.employment.repositories;
 
 import com.ne.rra_vehicle_ms.employee.entities.Employee;
+import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
 import com.ne.rra_vehicle_ms.employment.entities.Employment;
 import com.ne.rra_vehicle_ms.employment.entities.EmploymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,7 +20,23 @@ public interface EmploymentRepository extends JpaRepository<Employment, UUID> {
     List<Employment> findByEmployee(Employee employee);
     List<Employment> findByEmployeeAndStatus(Employee employee, EmploymentStatus status);
     List<Employment> findByStatus(EmploymentStatus status);
-    Optional<Employment> findByEmployeeAndStatusOrderByJoiningDateDesc(Employee employee, EmploymentStatus status);
-    List<Employment> findAllByEmployeeAndStatusOrderByJoiningDateDesc(Employee employee, EmploymentStatus status);
     boolean existsByCode(String code);
+    // At most one ACTIVE employment per employee (idx_employment_one_active_per_employee)
+    boolean existsByEmployeeAndStatusAndIdNot(Employee employee, EmploymentStatus status, UUID id);
+    boolean existsByEmployeeAndStatus(Employee employee, EmploymentStatus status);
+
+    @Query("select e from Employment e join fetch e.employee where e.employee.id = :employeeId and e.status = :status")
+    Optional<Employment> findWithEmployeeByEmployeeIdAndStatus(@Param("employeeId") UUID employeeId,
+                                                               @Param("status") EmploymentStatus status);
+
+    @Query("select e from Employment e join fetch e.employee where e.id in :ids")
+    List<Employment> findAllWithEmployeeByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select e from Employment e join fetch e.employee where e.status = :status")
+    List<Employment> findAllWithEmployeeByStatus(@Param("status") EmploymentStatus status);
+
+    // Current employment of every employee in the given status, for bulk payroll runs
+    @Query("select e from Employment e join fetch e.employee em where e.status = :status and em.status = :employeeStatus")
+    List<Employment> findAllWithEmployeeByStatusAndEmployeeStatus(@Param("status") EmploymentStatus status,
+                                                                  @Param("employeeStatus") EmployeeStatus employeeStatus);
 }
\ No newline at end of file
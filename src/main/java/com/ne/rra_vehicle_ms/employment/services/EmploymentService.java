@@ -1,20 +1,32 @@
 package com.ne.rra_vehicle_ms.employment.services;
 
+import com.ne.rra_vehicle_ms.commons.datasource.ReadFromPrimary;
+import com.ne.rra_vehicle_ms.commons.dtos.BatchLookupResult;
 import com.ne.rra_vehicle_ms.commons.exceptions.BadRequestException;
+import com.ne.rra_vehicle_ms.commons.sql.SqlStatementBudget;
+import com.ne.rra_vehicle_ms.config.CacheNames;
 import com.ne.rra_vehicle_ms.employee.entities.Employee;
+import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
 import com.ne.rra_vehicle_ms.employee.services.EmployeeService;
 import com.ne.rra_vehicle_ms.employment.dtos.EmploymentRequestDto;
 import com.ne.rra_vehicle_ms.employment.dtos.EmploymentResponseDto;
 import com.ne.rra_vehicle_ms.employment.entities.Employment;
 import com.ne.rra_vehicle_ms.employment.entities.EmploymentStatus;
+import com.ne.rra_vehicle_ms.employment.events.EmploymentChangedEvent;
 import com.ne.rra_vehicle_ms.employment.mappers.EmploymentMapper;
 import com.ne.rra_vehicle_ms.employment.repositories.EmploymentRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -23,6 +35,7 @@ public class EmploymentService {
     private final EmploymentRepository employmentRepository;
     private final EmployeeService employeeService;
     private final EmploymentMapper employmentMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public EmploymentResponseDto createEmployment(EmploymentRequestDto employmentRequestDto) {
@@ -30,8 +43,8 @@ public class EmploymentService {
         Employee employee = getEmployeeEntityById(employmentRequestDto.employeeId());
 
         // Check if employee already has an active employment
-        List<Employment> activeEmployments = employmentRepository.findAllByEmployeeAndStatusOrderByJoiningDateDesc(employee, EmploymentStatus.ACTIVE);
-        if (!activeEmployments.isEmpty()) {
+        if (employmentRequestDto.status() == EmploymentStatus.ACTIVE
+                && employmentRepository.existsByEmployeeAndStatus(employee, EmploymentStatus.ACTIVE)) {
             throw new BadRequestException("Employee already has an active employment");
         }
 
@@ -39,6 +52,7 @@ public class EmploymentService {
         employment.setEmployee(employee); // Set the employee entity
         
         Employment savedEmployment = employmentRepository.save(employment);
+        eventPublisher.publishEvent(new EmploymentChangedEvent(employee.getId()));
         return employmentMapper.toResponseDto(savedEmployment);
     }
 
@@ -48,6 +62,12 @@ public class EmploymentService {
         return employmentMapper.toResponseDto(employment);
     }
 
+    @Transactional(readOnly = true)
+    public List<BatchLookupResult<EmploymentResponseDto>> getEmploymentsByIds(List<UUID> ids) {
+        List<Employment> employments = employmentRepository.findAllWithEmployeeByIdIn(new HashSet<>(ids));
+        return BatchLookupResult.inRequestOrder(ids, employmentMapper.toResponseDtoList(employments), EmploymentResponseDto::id);
+    }
+
     @Transactional(readOnly = true)
     public EmploymentResponseDto getEmploymentByCode(String code) {
         Employment employment = employmentRepository.findByCode(code)
@@ -75,19 +95,45 @@ public class EmploymentService {
     }
 
     @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @SqlStatementBudget(1)
+    @Cacheable(cacheNames = CacheNames.CURRENT_EMPLOYMENTS, key = "#employeeId", sync = true)
     public EmploymentResponseDto getCurrentEmployment(UUID employeeId) {
-        Employee employee = getEmployeeEntityById(employeeId);
-        List<Employment> activeEmployments = employmentRepository.findAllByEmployeeAndStatusOrderByJoiningDateDesc(employee, EmploymentStatus.ACTIVE);
-        if (activeEmployments.isEmpty()) {
-            throw new EntityNotFoundException("No active employment found for employee with id " + employeeId);
-        }
-        Employment currentEmployment = activeEmployments.get(0); // Return the most recent one
+        // The only ACTIVE employment of the employee, fetched with the employee in one query
+        Employment currentEmployment = employmentRepository.findWithEmployeeByEmployeeIdAndStatus(employeeId, EmploymentStatus.ACTIVE)
+                .orElseThrow(() -> new EntityNotFoundException("No active employment found for employee with id " + employeeId));
         return employmentMapper.toResponseDto(currentEmployment);
     }
 
+    // Non-throwing variant for callers inside their own transaction: an exception thrown out of a
+    // @Transactional method would mark that transaction rollback-only even if the caller catches it
+    @Transactional(readOnly = true)
+    public Optional<EmploymentResponseDto> findCurrentEmployment(UUID employeeId) {
+        return employmentRepository.findWithEmployeeByEmployeeIdAndStatus(employeeId, EmploymentStatus.ACTIVE)
+                .map(employmentMapper::toResponseDto);
+    }
+
+    // Current employment of every employee with an active one, keyed by employee id; read in one query to fill the cache
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    public Map<UUID, EmploymentResponseDto> getCurrentEmploymentsByEmployee() {
+        Map<UUID, EmploymentResponseDto> currentEmployments = new LinkedHashMap<>();
+        for (Employment employment : employmentRepository.findAllWithEmployeeByStatus(EmploymentStatus.ACTIVE)) {
+            currentEmployments.put(employment.getEmployee().getId(), employmentMapper.toResponseDto(employment));
+        }
+        return currentEmployments;
+    }
+
+    // Public method to get entities - needed by the payroll run, which joins every active employee to their employment at once
+    @Transactional(readOnly = true)
+    public List<Employment> getCurrentEmploymentsOfActiveEmployees() {
+        return employmentRepository.findAllWithEmployeeByStatusAndEmployeeStatus(EmploymentStatus.ACTIVE, EmployeeStatus.ACTIVE);
+    }
+
     @Transactional
     public EmploymentResponseDto updateEmployment(UUID id, EmploymentRequestDto employmentRequestDto) {
         Employment employment = getEmploymentEntityById(id);
+        UUID previousEmployeeId = employment.getEmployee().getId();
         
         // Verify that the employee exists if employeeId is being changed
         if (!employment.getEmployee().getId().equals(employmentRequestDto.employeeId())) {
@@ -101,8 +147,10 @@ public class EmploymentService {
         employment.setBaseSalary(employmentRequestDto.baseSalary());
         employment.setStatus(employmentRequestDto.status());
         employment.setJoiningDate(employmentRequestDto.joiningDate());
+        requireNoOtherActiveEmployment(employment);
 
         Employment updatedEmployment = employmentRepository.save(employment);
+        eventPublisher.publishEvent(new EmploymentChangedEvent(List.of(previousEmployeeId, updatedEmployment.getEmployee().getId())));
         return employmentMapper.toResponseDto(updatedEmployment);
     }
 
@@ -110,17 +158,27 @@ public class EmploymentService {
     public void deleteEmployment(UUID id) {
         Employment employment = getEmploymentEntityById(id);
         employmentRepository.delete(employment);
+        eventPublisher.publishEvent(new EmploymentChangedEvent(employment.getEmployee().getId()));
     }
 
     @Transactional
     public EmploymentResponseDto updateEmploymentStatus(UUID id, EmploymentStatus status) {
         Employment employment = getEmploymentEntityById(id);
         employment.setStatus(status);
+        requireNoOtherActiveEmployment(employment);
         Employment updatedEmployment = employmentRepository.save(employment);
+        eventPublisher.publishEvent(new EmploymentChangedEvent(updatedEmployment.getEmployee().getId()));
         return employmentMapper.toResponseDto(updatedEmployment);
     }
 
     // Helper methods for internal operations
+    private void requireNoOtherActiveEmployment(Employment employment) {
+        if (employment.getStatus() == EmploymentStatus.ACTIVE
+                && employmentRepository.existsByEmployeeAndStatusAndIdNot(employment.getEmployee(), EmploymentStatus.ACTIVE, employment.getId())) {
+            throw new BadRequestException("Employee already has an active employment");
+        }
+    }
+
     private Employment getEmploymentEntityById(UUID id) {
         return employmentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Employment with id " + id + " not found"));
@@ -1,5 +1,6 @@
 package com.ne.rra_vehicle_ms.message.entities;
 
+import com.ne.rra_vehicle_ms.commons.generators.UuidV7;
 import com.ne.rra_vehicle_ms.employee.entities.Employee;
 import jakarta.persistence.*;
 import lombok.*;
@@ -16,7 +17,7 @@ import java.util.UUID;
 @Builder
 public class Message {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
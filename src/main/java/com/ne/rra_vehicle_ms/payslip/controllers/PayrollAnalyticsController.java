@@ -0,0 +1,39 @@
+package com.ne.rra_vehicle_ms.payslip.controllers;
+
+import com.ne.rra_vehicle_ms.payslip.dtos.PayrollCostResponseDto;
+import com.ne.rra_vehicle_ms.payslip.dtos.PayrollTrendResponseDto;
+import com.ne.rra_vehicle_ms.payslip.services.PayrollAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/payslips/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Payroll Analytics", description = "APIs for aggregated payroll reporting")
+public class PayrollAnalyticsController {
+    private final PayrollAnalyticsService payrollAnalyticsService;
+
+    @Operation(summary = "Get payroll cost by department and position", description = "Retrieves the month's gross, net, tax, pension, medical and other totals per department and position, with department subtotals and a grand total. Requires ADMIN or MANAGER role.")
+    @GetMapping("/costs/month/{month}/year/{year}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<List<PayrollCostResponseDto>> getCostsByDepartmentAndPosition(
+            @PathVariable Integer month, @PathVariable Integer year) {
+        return ResponseEntity.ok(payrollAnalyticsService.getCostsByDepartmentAndPosition(month, year));
+    }
+
+    @Operation(summary = "Get monthly payroll trend", description = "Retrieves the totals of each month of a year with the change from the previous month. Requires ADMIN or MANAGER role.")
+    @GetMapping("/trend/year/{year}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<List<PayrollTrendResponseDto>> getMonthlyTrend(@PathVariable Integer year) {
+        return ResponseEntity.ok(payrollAnalyticsService.getMonthlyTrend(year));
+    }
+}
@@ -1,6 +1,10 @@
 package com.ne.rra_vehicle_ms.payslip.controllers;
 
+import com.ne.rra_vehicle_ms.commons.dtos.BatchLookupRequestDto;
+import com.ne.rra_vehicle_ms.commons.dtos.BatchLookupResult;
+import com.ne.rra_vehicle_ms.commons.sql.SqlStatementBudget;
 import com.ne.rra_vehicle_ms.message.services.MessageService;
+import com.ne.rra_vehicle_ms.payslip.dtos.PayrollSummaryResponseDto;
 import com.ne.rra_vehicle_ms.payslip.dtos.PayslipRequestDto;
 import com.ne.rra_vehicle_ms.payslip.dtos.PayslipResponseDto;
 import com.ne.rra_vehicle_ms.payslip.entities.Payslip;
@@ -57,6 +61,18 @@ public class PayslipController {
         return ResponseEntity.ok(payslipService.getPayslipById(id));
     }
 
+    @Operation(summary = "Get payslips by ids", description = "Retrieves up to " + BatchLookupRequestDto.MAX_IDS + " payslips in one request. Results follow the request order and ids without a match are marked as not found. Requires ADMIN or MANAGER role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lookup completed"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized id list"),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<List<BatchLookupResult<PayslipResponseDto>>> getPayslipsByIds(@Valid @RequestBody BatchLookupRequestDto request) {
+        return ResponseEntity.ok(payslipService.getPayslipsByIds(request.ids()));
+    }
+
     @Operation(summary = "Get payslips by employee", description = "Retrieves all payslips for a specific employee. Requires ADMIN or MANAGER role.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Payslips found",
@@ -66,8 +82,9 @@ public class PayslipController {
     })
     @GetMapping("/employee/{employeeId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<List<PayslipResponseDto>> getPayslipsByEmployee(@PathVariable UUID employeeId) {
-        return ResponseEntity.ok(payslipService.getPayslipsByEmployee(employeeId));
+    public ResponseEntity<List<PayslipResponseDto>> getPayslipsByEmployee(
+            @PathVariable UUID employeeId, @RequestParam(required = false) Integer year) {
+        return ResponseEntity.ok(payslipService.getPayslipsByEmployee(employeeId, year));
     }
 
     @Operation(summary = "Get payslips by employee and status", description = "Retrieves payslips for a specific employee with given status. Requires ADMIN or MANAGER role.")
@@ -78,11 +95,12 @@ public class PayslipController {
         return ResponseEntity.ok(payslipService.getPayslipsByEmployeeAndStatus(employeeId, status));
     }
 
-    @Operation(summary = "Get payslips by status", description = "Retrieves all payslips with the specified status. Requires ADMIN or MANAGER role.")
+    @Operation(summary = "Get payslips by status", description = "Retrieves all payslips with the specified status, optionally limited to one year. Requires ADMIN or MANAGER role.")
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<List<PayslipResponseDto>> getPayslipsByStatus(@PathVariable PayslipStatus status) {
-        return ResponseEntity.ok(payslipService.getPayslipsByStatus(status));
+    public ResponseEntity<List<PayslipResponseDto>> getPayslipsByStatus(
+            @PathVariable PayslipStatus status, @RequestParam(required = false) Integer year) {
+        return ResponseEntity.ok(payslipService.getPayslipsByStatus(status, year));
     }
 
     @Operation(summary = "Get payslips by month and year", description = "Retrieves all payslips for a specific month and year. Requires ADMIN or MANAGER role.")
@@ -101,6 +119,15 @@ public class PayslipController {
         return ResponseEntity.ok(payslipService.getPayslipsByMonthAndYearAndStatus(month, year, status));
     }
 
+    @Operation(summary = "Get payroll summary", description = "Retrieves payroll totals per month, status and department for a year, optionally limited to one month. Requires ADMIN or MANAGER role.")
+    @GetMapping("/summary/year/{year}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @SqlStatementBudget(1)
+    public ResponseEntity<List<PayrollSummaryResponseDto>> getPayrollSummary(
+            @PathVariable Integer year, @RequestParam(required = false) Integer month) {
+        return ResponseEntity.ok(payslipService.getPayrollSummary(year, month));
+    }
+
     @Operation(summary = "Get employee payslip for specific month and year", description = "Retrieves a specific employee's payslip for given month and year. Requires ADMIN or MANAGER role.")
     @GetMapping("/employee/{employeeId}/month/{month}/year/{year}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
@@ -0,0 +1,19 @@
+package com.ne.rra_vehicle_ms.payslip.dtos;
+
+import java.math.BigDecimal;
+
+// level is POSITION for a department/position row, DEPARTMENT for a department subtotal
+// (position is null) and TOTAL for the grand total (department and position are null)
+public record PayrollCostResponseDto(
+        String level,
+        String department,
+        String position,
+        Long headcount,
+        BigDecimal grossTotal,
+        BigDecimal netTotal,
+        BigDecimal taxTotal,
+        BigDecimal pensionTotal,
+        BigDecimal medicalInsuranceTotal,
+        BigDecimal otherTaxedTotal
+) {
+}
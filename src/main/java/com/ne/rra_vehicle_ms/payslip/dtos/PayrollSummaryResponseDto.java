@@ -0,0 +1,20 @@
+package com.ne.rra_vehicle_ms.payslip.dtos;
+
+import com.ne.rra_vehicle_ms.payslip.entities.PayslipStatus;
+
+import java.math.BigDecimal;
+
+public record PayrollSummaryResponseDto(
+        Integer month,
+        Integer year,
+        PayslipStatus status,
+        String department,
+        Integer headcount,
+        BigDecimal grossTotal,
+        BigDecimal netTotal,
+        BigDecimal taxTotal,
+        BigDecimal pensionTotal,
+        BigDecimal medicalInsuranceTotal,
+        BigDecimal otherTaxedTotal
+) {
+}
@@ -0,0 +1,18 @@
+package com.ne.rra_vehicle_ms.payslip.dtos;
+
+import java.math.BigDecimal;
+
+// The *Change fields compare with the previous month that has payslips and are null when there is none
+public record PayrollTrendResponseDto(
+        Integer year,
+        Integer month,
+        Long headcount,
+        BigDecimal grossTotal,
+        BigDecimal netTotal,
+        BigDecimal taxTotal,
+        BigDecimal pensionTotal,
+        Long headcountChange,
+        BigDecimal grossChange,
+        BigDecimal netChange
+) {
+}
@@ -49,6 +49,7 @@ public record PayslipRequestDto(
 
         @NotNull(message = "Year is required")
         @Min(value = 2000, message = "Year must be after 2000")
+        @Max(value = 2100, message = "Year must be before 2100")
         Integer year,
 
         @NotNull(message = "Status is required")
@@ -0,0 +1,64 @@
+package com.ne.rra_vehicle_ms.payslip.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+// Month totals per status and department. Maintained by the payroll_summary_trigger on payslips (V7 migration),
+// so the application only ever reads it.
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "payroll_summary")
+@Entity
+@Immutable
+@IdClass(PayrollSummary.Key.class)
+public class PayrollSummary {
+    @Id
+    private Integer year;
+
+    @Id
+    private Integer month;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private PayslipStatus status;
+
+    @Id
+    private String department;
+
+    @Column(nullable = false)
+    private Integer headcount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal grossTotal;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal netTotal;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal taxTotal;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal pensionTotal;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal medicalInsuranceTotal;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal otherTaxedTotal;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Integer year;
+        private Integer month;
+        private PayslipStatus status;
+        private String department;
+    }
+}
@@ -1,8 +1,10 @@
 package com.ne.rra_vehicle_ms.payslip.entities;
 
+import com.ne.rra_vehicle_ms.commons.generators.UuidV7;
 import com.ne.rra_vehicle_ms.employee.entities.Employee;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.PartitionKey;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -18,7 +20,7 @@ import java.util.UUID;
 @Builder
 public class Payslip {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -52,10 +54,20 @@ public class Payslip {
     @Column(nullable = false)
     private Integer month;
 
+    // The table is partitioned by year; Hibernate adds it to updates and deletes so they hit one partition
+    @PartitionKey
     @Column(nullable = false)
     private Integer year;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private PayslipStatus status = PayslipStatus.PENDING;
+
+    // Department at the time the payslip was issued, payroll totals are grouped by it
+    @Column(nullable = false)
+    private String department;
+
+    // Position at the time the payslip was issued, payroll costs are grouped by it
+    @Column(nullable = false)
+    private String position;
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.ne.rra_vehicle_ms.payslip.events;
+
+import com.ne.rra_vehicle_ms.config.CacheNames;
+import com.ne.rra_vehicle_ms.payslip.entities.PayslipStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PayslipCacheInvalidator {
+    private final CacheManager cacheManager;
+
+    // Runs only once the writing transaction has committed, so a concurrent read
+    // cannot repopulate the cache with rows that are about to change.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPayslipsChanged(PayslipsChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheNames.PAYSLIPS_BY_MONTH);
+        if (cache == null) {
+            return;
+        }
+        cache.evict(monthKey(event.month(), event.year(), null));
+        for (PayslipStatus status : PayslipStatus.values()) {
+            cache.evict(monthKey(event.month(), event.year(), status));
+        }
+        evictAnalytics(event);
+        log.debug("Evicted cached payslip listings for {}/{}", event.month(), event.year());
+    }
+
+    private void evictAnalytics(PayslipsChangedEvent event) {
+        Cache costs = cacheManager.getCache(CacheNames.PAYROLL_COSTS);
+        if (costs != null) {
+            costs.evict(event.month() + ":" + event.year());
+        }
+        Cache trends = cacheManager.getCache(CacheNames.PAYROLL_TRENDS);
+        if (trends != null) {
+            trends.evict(event.year());
+            // January of the next year is compared with this December
+            if (event.month() == 12) {
+                trends.evict(event.year() + 1);
+            }
+        }
+    }
+
+    public static String monthKey(Integer month, Integer year, PayslipStatus status) {
+        return month + ":" + year + ":" + (status == null ? "ALL" : status.name());
+    }
+}
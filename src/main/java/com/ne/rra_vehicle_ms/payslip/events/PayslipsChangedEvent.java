@@ -0,0 +1,7 @@
+package com.ne.rra_vehicle_ms.payslip.events;
+
+public record PayslipsChangedEvent(
+        Integer month,
+        Integer year
+) {
+}
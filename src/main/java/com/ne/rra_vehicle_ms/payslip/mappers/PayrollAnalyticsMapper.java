@@ -0,0 +1,21 @@
+package com.ne.rra_vehicle_ms.payslip.mappers;
+
+import com.ne.rra_vehicle_ms.payslip.dtos.PayrollCostResponseDto;
+import com.ne.rra_vehicle_ms.payslip.dtos.PayrollTrendResponseDto;
+import com.ne.rra_vehicle_ms.payslip.repositories.PayrollCostView;
+import com.ne.rra_vehicle_ms.payslip.repositories.PayrollTrendView;
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
+public interface PayrollAnalyticsMapper {
+    PayrollCostResponseDto toCostDto(PayrollCostView view);
+
+    List<PayrollCostResponseDto> toCostDtoList(List<PayrollCostView> views);
+
+    PayrollTrendResponseDto toTrendDto(PayrollTrendView view);
+
+    List<PayrollTrendResponseDto> toTrendDtoList(List<PayrollTrendView> views);
+}
@@ -0,0 +1,15 @@
+package com.ne.rra_vehicle_ms.payslip.mappers;
+
+import com.ne.rra_vehicle_ms.payslip.dtos.PayrollSummaryResponseDto;
+import com.ne.rra_vehicle_ms.payslip.entities.PayrollSummary;
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
+public interface PayrollSummaryMapper {
+    PayrollSummaryResponseDto toResponseDto(PayrollSummary summary);
+
+    List<PayrollSummaryResponseDto> toResponseDtoList(List<PayrollSummary> summaries);
+}
@@ -15,6 +15,8 @@ import java.util.List;
 public interface PayslipMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "employee", source = "employeeId")
+    @Mapping(target = "department", ignore = true)
+    @Mapping(target = "position", ignore = true)
     Payslip toEntity(PayslipRequestDto dto);
 
     @Mapping(target = "employee", source = "employee")
@@ -0,0 +1,17 @@
+package com.ne.rra_vehicle_ms.payslip.repositories;
+
+import java.math.BigDecimal;
+
+// Row of PayslipRepository.findCostsByDepartmentAndPosition
+public interface PayrollCostView {
+    String getLevel();
+    String getDepartment();
+    String getPosition();
+    Long getHeadcount();
+    BigDecimal getGrossTotal();
+    BigDecimal getNetTotal();
+    BigDecimal getTaxTotal();
+    BigDecimal getPensionTotal();
+    BigDecimal getMedicalInsuranceTotal();
+    BigDecimal getOtherTaxedTotal();
+}
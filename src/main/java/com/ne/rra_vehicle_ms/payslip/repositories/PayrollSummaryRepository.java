@@ -0,0 +1,41 @@
+package com.ne.rra_vehicle_ms.payslip.repositories;
+
+import com.ne.rra_vehicle_ms.payslip.entities.PayrollSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PayrollSummaryRepository extends JpaRepository<PayrollSummary, PayrollSummary.Key> {
+    List<PayrollSummary> findByYearOrderByMonthAscStatusAscDepartmentAsc(Integer year);
+    List<PayrollSummary> findByYearAndMonthOrderByStatusAscDepartmentAsc(Integer year, Integer month);
+
+    // Month totals of a year with month-over-month changes. The previous December is read too, so January
+    // has a change, and filtered out only after the window function has run.
+    @Query(value = """
+            select * from (
+                select year as "year",
+                       month as "month",
+                       headcount as "headcount",
+                       gross_total as "grossTotal",
+                       net_total as "netTotal",
+                       tax_total as "taxTotal",
+                       pension_total as "pensionTotal",
+                       headcount - lag(headcount) over months as "headcountChange",
+                       gross_total - lag(gross_total) over months as "grossChange",
+                       net_total - lag(net_total) over months as "netChange"
+                from (select year, month, sum(headcount) as headcount, sum(gross_total) as gross_total,
+                             sum(net_total) as net_total, sum(tax_total) as tax_total, sum(pension_total) as pension_total
+                      from payroll_summary
+                      where year = :year or (year = :year - 1 and month = 12)
+                      group by year, month) monthly
+                window months as (order by year, month)
+            ) trend
+            where "year" = :year
+            order by "month"
+            """, nativeQuery = true)
+    List<PayrollTrendView> findMonthlyTrend(@Param("year") int year);
+}
@@ -0,0 +1,17 @@
+package com.ne.rra_vehicle_ms.payslip.repositories;
+
+import java.math.BigDecimal;
+
+// Row of PayrollSummaryRepository.findMonthlyTrend
+public interface PayrollTrendView {
+    Integer getYear();
+    Integer getMonth();
+    Long getHeadcount();
+    BigDecimal getGrossTotal();
+    BigDecimal getNetTotal();
+    BigDecimal getTaxTotal();
+    BigDecimal getPensionTotal();
+    Long getHeadcountChange();
+    BigDecimal getGrossChange();
+    BigDecimal getNetChange();
+}
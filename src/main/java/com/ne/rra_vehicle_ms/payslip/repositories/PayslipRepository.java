@@ -4,10 +4,14 @@ import com.ne.rra_vehicle_ms.employee.entities.Employee;
 import com.ne.rra_vehicle_ms.payslip.entities.Payslip;
 import com.ne.rra_vehicle_ms.payslip.entities.PayslipStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -15,8 +19,40 @@ public interface PayslipRepository extends JpaRepository<Payslip, UUID> {
     List<Payslip> findByEmployee(Employee employee);
     List<Payslip> findByEmployeeAndStatus(Employee employee, PayslipStatus status);
     List<Payslip> findByStatus(PayslipStatus status);
+    // Year-scoped variants only read that year's partition
+    List<Payslip> findByEmployeeAndYear(Employee employee, Integer year);
+    List<Payslip> findByStatusAndYear(PayslipStatus status, Integer year);
     List<Payslip> findByMonthAndYear(Integer month, Integer year);
     List<Payslip> findByMonthAndYearAndStatus(Integer month, Integer year, PayslipStatus status);
     Optional<Payslip> findByEmployeeAndMonthAndYear(Employee employee, Integer month, Integer year);
     boolean existsByEmployeeAndMonthAndYear(Employee employee, Integer month, Integer year);
+
+    @Query("select p.employee.id from Payslip p where p.month = :month and p.year = :year")
+    Set<UUID> findEmployeeIdsByMonthAndYear(@Param("month") Integer month, @Param("year") Integer year);
+
+    @Query("select p from Payslip p join fetch p.employee where p.id in :ids")
+    List<Payslip> findAllWithEmployeeByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Month cost per department and position with ROLLUP subtotals per department and a grand total.
+    // Both are the payslip's snapshot, so later employment changes do not move past costs.
+    @Query(value = """
+            select case grouping(department, position) when 0 then 'POSITION' when 1 then 'DEPARTMENT' else 'TOTAL' end as "level",
+                   department as "department",
+                   position as "position",
+                   count(*) as "headcount",
+                   sum(gross_salary) as "grossTotal",
+                   sum(net_salary) as "netTotal",
+                   sum(employee_taxed_amount) as "taxTotal",
+                   sum(pension_amount) as "pensionTotal",
+                   sum(medical_insurance_amount) as "medicalInsuranceTotal",
+                   sum(other_taxed_amount) as "otherTaxedTotal"
+            from payslips
+            where year = :year and month = :month
+            group by rollup (department, position)
+            order by department nulls last, position nulls last
+            """, nativeQuery = true)
+    List<PayrollCostView> findCostsByDepartmentAndPosition(@Param("month") int month, @Param("year") int year);
+
+    @Query(value = "select ensure_payslip_partition(:year)", nativeQuery = true)
+    boolean ensurePartition(@Param("year") int year);
 }
\ No newline at end of file
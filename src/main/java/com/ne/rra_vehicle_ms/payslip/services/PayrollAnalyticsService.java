@@ -0,0 +1,42 @@
+package com.ne.rra_vehicle_ms.payslip.services;
+
+import com.ne.rra_vehicle_ms.commons.datasource.ReadFromPrimary;
+import com.ne.rra_vehicle_ms.commons.sql.SqlStatementBudget;
+import com.ne.rra_vehicle_ms.config.CacheNames;
+import com.ne.rra_vehicle_ms.payslip.dtos.PayrollCostResponseDto;
+import com.ne.rra_vehicle_ms.payslip.dtos.PayrollTrendResponseDto;
+import com.ne.rra_vehicle_ms.payslip.mappers.PayrollAnalyticsMapper;
+import com.ne.rra_vehicle_ms.payslip.repositories.PayrollSummaryRepository;
+import com.ne.rra_vehicle_ms.payslip.repositories.PayslipRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Aggregates are computed by the database and only the few result rows are returned.
+// Results are cached per month (costs) and per year (trend) and evicted when that month's payslips change.
+@Service
+@RequiredArgsConstructor
+public class PayrollAnalyticsService {
+    private final PayslipRepository payslipRepository;
+    private final PayrollSummaryRepository payrollSummaryRepository;
+    private final PayrollAnalyticsMapper payrollAnalyticsMapper;
+
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @SqlStatementBudget(1)
+    @Cacheable(cacheNames = CacheNames.PAYROLL_COSTS, sync = true, key = "#month + ':' + #year")
+    public List<PayrollCostResponseDto> getCostsByDepartmentAndPosition(Integer month, Integer year) {
+        return payrollAnalyticsMapper.toCostDtoList(payslipRepository.findCostsByDepartmentAndPosition(month, year));
+    }
+
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @SqlStatementBudget(1)
+    @Cacheable(cacheNames = CacheNames.PAYROLL_TRENDS, sync = true, key = "#year")
+    public List<PayrollTrendResponseDto> getMonthlyTrend(Integer year) {
+        return payrollAnalyticsMapper.toTrendDtoList(payrollSummaryRepository.findMonthlyTrend(year));
+    }
+}
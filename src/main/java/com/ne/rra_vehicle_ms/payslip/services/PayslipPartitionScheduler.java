@@ -0,0 +1,25 @@
+package com.ne.rra_vehicle_ms.payslip.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+
+// Creates the current and next year's payslip partitions at startup and daily. A separate bean so each call
+// goes through PayslipPartitionService's proxy and gets its own (REQUIRES_NEW) transaction.
+@Component
+@RequiredArgsConstructor
+public class PayslipPartitionScheduler {
+    private final PayslipPartitionService payslipPartitionService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.payslip.partition-cron:0 0 3 * * *}")
+    public void ensureUpcomingPartitions() {
+        int currentYear = Year.now().getValue();
+        payslipPartitionService.ensurePartition(currentYear);
+        payslipPartitionService.ensurePartition(currentYear + 1);
+    }
+}
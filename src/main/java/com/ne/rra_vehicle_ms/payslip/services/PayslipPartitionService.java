@@ -0,0 +1,43 @@
+package com.ne.rra_vehicle_ms.payslip.services;
+
+import com.ne.rra_vehicle_ms.commons.exceptions.BadRequestException;
+import com.ne.rra_vehicle_ms.payslip.repositories.PayslipRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Year;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Payslips are partitioned by year (V5 migration). A year's partition must exist before its first insert,
+// so the current and next year are created ahead of time (PayslipPartitionScheduler) and any other year on first use.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayslipPartitionService {
+    private static final int FIRST_YEAR = 2000;
+
+    private final PayslipRepository payslipRepository;
+    private final Set<Integer> ensuredYears = ConcurrentHashMap.newKeySet();
+
+    // Own transaction: creating a partition locks the parent table, which must not be held for a whole payroll run.
+    // Callers must not have read payslips in their own transaction yet, or this waits on them forever.
+    // Only years payslips can be issued for get a partition, so a typo cannot create tables decades ahead.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void ensurePartition(int year) {
+        if (ensuredYears.contains(year)) {
+            return;
+        }
+        int lastYear = Year.now().getValue() + 1;
+        if (year < FIRST_YEAR || year > lastYear) {
+            throw new BadRequestException("Payslips can only be issued for years " + FIRST_YEAR + " to " + lastYear);
+        }
+        if (payslipRepository.ensurePartition(year)) {
+            log.info("Created payslip partition for {}", year);
+        }
+        ensuredYears.add(year);
+    }
+}
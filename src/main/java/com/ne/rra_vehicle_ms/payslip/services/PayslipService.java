@@ -1,44 +1,64 @@
 package com.ne.rra_vehicle_ms.payslip.services;
 
-import com.ne.rra_vehicle_ms.deductions.entities.Deduction;
+import com.ne.rra_vehicle_ms.commons.datasource.ReadFromPrimary;
+import com.ne.rra_vehicle_ms.commons.dtos.BatchLookupResult;
+import com.ne.rra_vehicle_ms.commons.sql.SqlStatementBudget;
+import com.ne.rra_vehicle_ms.config.CacheNames;
+import com.ne.rra_vehicle_ms.deductions.dtos.DeductionResponseDto;
 import com.ne.rra_vehicle_ms.deductions.services.DeductionService;
-import com.ne.rra_vehicle_ms.employee.dtos.EmployeeResponseDto;
 import com.ne.rra_vehicle_ms.employee.entities.Employee;
-import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
 import com.ne.rra_vehicle_ms.employee.services.EmployeeService;
 import com.ne.rra_vehicle_ms.employment.dtos.EmploymentResponseDto;
 import com.ne.rra_vehicle_ms.employment.entities.Employment;
-import com.ne.rra_vehicle_ms.employment.entities.EmploymentStatus;
 import com.ne.rra_vehicle_ms.employment.services.EmploymentService;
+import com.ne.rra_vehicle_ms.payslip.dtos.PayrollSummaryResponseDto;
 import com.ne.rra_vehicle_ms.payslip.dtos.PayslipRequestDto;
 import com.ne.rra_vehicle_ms.payslip.dtos.PayslipResponseDto;
 import com.ne.rra_vehicle_ms.payslip.entities.Payslip;
 import com.ne.rra_vehicle_ms.payslip.entities.PayslipStatus;
+import com.ne.rra_vehicle_ms.payslip.events.PayslipsChangedEvent;
+import com.ne.rra_vehicle_ms.payslip.mappers.PayrollSummaryMapper;
 import com.ne.rra_vehicle_ms.payslip.mappers.PayslipMapper;
+import com.ne.rra_vehicle_ms.payslip.repositories.PayrollSummaryRepository;
 import com.ne.rra_vehicle_ms.payslip.repositories.PayslipRepository;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class PayslipService {
+    private static final String UNASSIGNED = "UNASSIGNED";
+
     private final PayslipRepository payslipRepository;
     private final EmployeeService employeeService;
     private final EmploymentService employmentService;
     private final DeductionService deductionService;
     private final PayslipMapper payslipMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PayslipPartitionService payslipPartitionService;
+    private final PayrollSummaryRepository payrollSummaryRepository;
+    private final PayrollSummaryMapper payrollSummaryMapper;
 
     @Transactional
     public PayslipResponseDto createPayslip(PayslipRequestDto payslipDto) {
+        // First, before this transaction reads payslips: creating the partition takes an exclusive lock on the parent
+        // table from another connection, which would wait forever on a share lock held here
+        payslipPartitionService.ensurePartition(payslipDto.year());
+
         // Convert DTO to entity
         Payslip payslip = payslipMapper.toEntity(payslipDto);
 
@@ -53,8 +73,14 @@ public class PayslipService {
                     " for month " + payslipDto.month() + " and year " + payslipDto.year() + " already exists");
         }
 
+        // Manually issued payslips may belong to someone without an active employment
+        Optional<EmploymentResponseDto> employment = employmentService.findCurrentEmployment(employee.getId());
+        payslip.setDepartment(employment.map(EmploymentResponseDto::department).orElse(UNASSIGNED));
+        payslip.setPosition(employment.map(EmploymentResponseDto::position).orElse(UNASSIGNED));
+
         // Save the entity and convert back to DTO
         Payslip savedPayslip = payslipRepository.save(payslip);
+        eventPublisher.publishEvent(new PayslipsChangedEvent(savedPayslip.getMonth(), savedPayslip.getYear()));
         return payslipMapper.toResponseDto(savedPayslip);
     }
 
@@ -63,6 +89,12 @@ public class PayslipService {
         return payslipMapper.toResponseDto(getPayslipEntityById(id));
     }
 
+    @Transactional(readOnly = true)
+    public List<BatchLookupResult<PayslipResponseDto>> getPayslipsByIds(List<UUID> ids) {
+        List<Payslip> payslips = payslipRepository.findAllWithEmployeeByIdIn(new HashSet<>(ids));
+        return BatchLookupResult.inRequestOrder(ids, payslipMapper.toResponseDtoList(payslips), PayslipResponseDto::id);
+    }
+
     // Public method to get entity - needed by other services
     public Payslip getPayslipEntityById(UUID id) {
         return payslipRepository.findById(id)
@@ -70,9 +102,11 @@ public class PayslipService {
     }
 
     @Transactional(readOnly = true)
-    public List<PayslipResponseDto> getPayslipsByEmployee(UUID employeeId) {
+    public List<PayslipResponseDto> getPayslipsByEmployee(UUID employeeId, Integer year) {
         Employee employee = employeeService.getEmployeeEntityById(employeeId);
-        List<Payslip> payslips = payslipRepository.findByEmployee(employee);
+        List<Payslip> payslips = year == null
+                ? payslipRepository.findByEmployee(employee)
+                : payslipRepository.findByEmployeeAndYear(employee, year);
         return payslipMapper.toResponseDtoList(payslips);
     }
 
@@ -84,18 +118,26 @@ public class PayslipService {
     }
 
     @Transactional(readOnly = true)
-    public List<PayslipResponseDto> getPayslipsByStatus(PayslipStatus status) {
-        List<Payslip> payslips = payslipRepository.findByStatus(status);
+    public List<PayslipResponseDto> getPayslipsByStatus(PayslipStatus status, Integer year) {
+        List<Payslip> payslips = year == null
+                ? payslipRepository.findByStatus(status)
+                : payslipRepository.findByStatusAndYear(status, year);
         return payslipMapper.toResponseDtoList(payslips);
     }
 
     @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @Cacheable(cacheNames = CacheNames.PAYSLIPS_BY_MONTH, sync = true,
+            key = "T(com.ne.rra_vehicle_ms.payslip.events.PayslipCacheInvalidator).monthKey(#month, #year, null)")
     public List<PayslipResponseDto> getPayslipsByMonthAndYear(Integer month, Integer year) {
         List<Payslip> payslips = payslipRepository.findByMonthAndYear(month, year);
         return payslipMapper.toResponseDtoList(payslips);
     }
 
     @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @Cacheable(cacheNames = CacheNames.PAYSLIPS_BY_MONTH, sync = true,
+            key = "T(com.ne.rra_vehicle_ms.payslip.events.PayslipCacheInvalidator).monthKey(#month, #year, #status)")
     public List<PayslipResponseDto> getPayslipsByMonthAndYearAndStatus(Integer month, Integer year, PayslipStatus status) {
         List<Payslip> payslips = payslipRepository.findByMonthAndYearAndStatus(month, year, status);
         return payslipMapper.toResponseDtoList(payslips);
@@ -110,44 +152,44 @@ public class PayslipService {
         return payslipMapper.toResponseDto(payslip);
     }
 
+    // Reads the trigger-maintained totals (a few rows per month) instead of aggregating payslips
+    @Transactional(readOnly = true)
+    @SqlStatementBudget(1)
+    public List<PayrollSummaryResponseDto> getPayrollSummary(Integer year, Integer month) {
+        return payrollSummaryMapper.toResponseDtoList(month == null
+                ? payrollSummaryRepository.findByYearOrderByMonthAscStatusAscDepartmentAsc(year)
+                : payrollSummaryRepository.findByYearAndMonthOrderByStatusAscDepartmentAsc(year, month));
+    }
+
     @Transactional
     public PayslipResponseDto updatePayslipStatus(UUID id, PayslipStatus status) {
         Payslip payslip = getPayslipEntityById(id);
         payslip.setStatus(status);
         Payslip updatedPayslip = payslipRepository.save(payslip);
+        eventPublisher.publishEvent(new PayslipsChangedEvent(updatedPayslip.getMonth(), updatedPayslip.getYear()));
         return payslipMapper.toResponseDto(updatedPayslip);
     }
 
     @Transactional
     public List<PayslipResponseDto> generatePayslipsForMonth(Integer month, Integer year) {
-        // Get all active employees using DTOs
-        List<EmployeeResponseDto> activeEmployeeDtos = employeeService.getEmployeesByStatus(EmployeeStatus.ACTIVE);
-        List<Payslip> generatedPayslips = new ArrayList<>();
-
-        for (EmployeeResponseDto employeeDto : activeEmployeeDtos) {
-            try {
-                // Get employee entity for database operations
-                Employee employee = employeeService.getEmployeeEntityById(employeeDto.id());
-                
-                // Check if payslip already exists for this employee, month, and year
-                if (payslipRepository.existsByEmployeeAndMonthAndYear(employee, month, year)) {
-                    continue; // Skip this employee
-                }
-
-                // Get the current active employment for this employee using DTO
-                EmploymentResponseDto employmentDto = employmentService.getCurrentEmployment(employeeDto.id());
-
-                // Only generate payslip if employment is active
-                if (employmentDto.status() == EmploymentStatus.ACTIVE) {
-                    Payslip payslip = calculatePayslip(employee, employmentDto, month, year);
-                    generatedPayslips.add(payslipRepository.save(payslip));
-                }
-            } catch (EntityNotFoundException e) {
-                // Skip employees without active employment
-                continue;
+        // First, for the same reason as in createPayslip
+        payslipPartitionService.ensurePartition(year);
+
+        // Every active employee with their (single) active employment, and who already has a payslip: two queries in total
+        List<Employment> currentEmployments = employmentService.getCurrentEmploymentsOfActiveEmployees();
+        Set<UUID> alreadyPaid = payslipRepository.findEmployeeIdsByMonthAndYear(month, year);
+
+        List<Payslip> payslips = new ArrayList<>();
+        for (Employment employment : currentEmployments) {
+            if (!alreadyPaid.contains(employment.getEmployee().getId())) {
+                payslips.add(calculatePayslip(employment, month, year));
             }
         }
+        List<Payslip> generatedPayslips = payslipRepository.saveAll(payslips);
 
+        if (!generatedPayslips.isEmpty()) {
+            eventPublisher.publishEvent(new PayslipsChangedEvent(month, year));
+        }
         return payslipMapper.toResponseDtoList(generatedPayslips);
     }
 
@@ -161,27 +203,30 @@ public class PayslipService {
             approvedPayslips.add(payslipRepository.save(payslip));
         }
 
+        if (!approvedPayslips.isEmpty()) {
+            eventPublisher.publishEvent(new PayslipsChangedEvent(month, year));
+        }
         return payslipMapper.toResponseDtoList(approvedPayslips);
     }
 
-    private Payslip calculatePayslip(Employee employee, EmploymentResponseDto employment, Integer month, Integer year) {
-        BigDecimal baseSalary = employment.baseSalary();
+    private Payslip calculatePayslip(Employment employment, Integer month, Integer year) {
+        BigDecimal baseSalary = employment.getBaseSalary();
 
         // Get deductions
-        Deduction employeeTax = deductionService.getDeductionByName("Employee Tax");
-        Deduction pension = deductionService.getDeductionByName("Pension");
-        Deduction medicalInsurance = deductionService.getDeductionByName("Medical Insurance");
-        Deduction others = deductionService.getDeductionByName("Others");
-        Deduction housing = deductionService.getDeductionByName("Housing");
-        Deduction transport = deductionService.getDeductionByName("Transport");
+        DeductionResponseDto employeeTax = deductionService.getDeductionByName("Employee Tax");
+        DeductionResponseDto pension = deductionService.getDeductionByName("Pension");
+        DeductionResponseDto medicalInsurance = deductionService.getDeductionByName("Medical Insurance");
+        DeductionResponseDto others = deductionService.getDeductionByName("Others");
+        DeductionResponseDto housing = deductionService.getDeductionByName("Housing");
+        DeductionResponseDto transport = deductionService.getDeductionByName("Transport");
 
         // Calculate amounts
-        BigDecimal houseAmount = calculatePercentage(baseSalary, housing.getPercentage());
-        BigDecimal transportAmount = calculatePercentage(baseSalary, transport.getPercentage());
-        BigDecimal employeeTaxAmount = calculatePercentage(baseSalary, employeeTax.getPercentage());
-        BigDecimal pensionAmount = calculatePercentage(baseSalary, pension.getPercentage());
-        BigDecimal medicalInsuranceAmount = calculatePercentage(baseSalary, medicalInsurance.getPercentage());
-        BigDecimal otherTaxedAmount = calculatePercentage(baseSalary, others.getPercentage());
+        BigDecimal houseAmount = calculatePercentage(baseSalary, housing.percentage());
+        BigDecimal transportAmount = calculatePercentage(baseSalary, transport.percentage());
+        BigDecimal employeeTaxAmount = calculatePercentage(baseSalary, employeeTax.percentage());
+        BigDecimal pensionAmount = calculatePercentage(baseSalary, pension.percentage());
+        BigDecimal medicalInsuranceAmount = calculatePercentage(baseSalary, medicalInsurance.percentage());
+        BigDecimal otherTaxedAmount = calculatePercentage(baseSalary, others.percentage());
 
         // Calculate gross and net salary
         BigDecimal grossSalary = baseSalary.add(houseAmount).add(transportAmount);
@@ -192,7 +237,7 @@ public class PayslipService {
 
         // Create and return payslip
         return Payslip.builder()
-                .employee(employee)
+                .employee(employment.getEmployee())
                 .houseAmount(houseAmount)
                 .transportAmount(transportAmount)
                 .employeeTaxedAmount(employeeTaxAmount)
@@ -204,6 +249,8 @@ public class PayslipService {
                 .month(month)
                 .year(year)
                 .status(PayslipStatus.PENDING)
+                .department(employment.getDepartment())
+                .position(employment.getPosition())
                 .build();
     }
 
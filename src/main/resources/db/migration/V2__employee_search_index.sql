@@ -0,0 +1,9 @@
+-- Trigram-backed employee search over names, code, email and mobile
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE employees
+    ADD COLUMN search_text TEXT GENERATED ALWAYS AS (
+        lower(first_name || ' ' || last_name || ' ' || code || ' ' || email || ' ' || mobile)
+    ) STORED;
+
+CREATE INDEX idx_employee_search_text_trgm ON employees USING gin (search_text gin_trgm_ops);
@@ -0,0 +1,60 @@
+-- Time-ordered UUIDs (version 7) for rows created in the database, matching the ids the application generates.
+-- The first 48 bits are the Unix time in milliseconds; version and variant bits come from gen_random_uuid().
+CREATE OR REPLACE FUNCTION uuid_generate_v7()
+RETURNS uuid AS $$
+DECLARE
+    unix_ms BIGINT := floor(extract(epoch FROM clock_timestamp()) * 1000);
+    value BYTEA := uuid_send(gen_random_uuid());
+BEGIN
+    value := overlay(value PLACING substring(int8send(unix_ms) FROM 3) FROM 1 FOR 6);
+    value := set_byte(value, 6, (b'0111' || get_byte(value, 6)::bit(4))::bit(8)::int);
+    RETURN encode(value, 'hex')::uuid;
+END;
+$$ LANGUAGE plpgsql VOLATILE;
+
+-- Approval messages are inserted by the payslip trigger, so it uses the time-ordered ids as well
+CREATE OR REPLACE FUNCTION create_payslip_approval_message()
+RETURNS TRIGGER AS $$
+DECLARE
+    employee_first_name VARCHAR(255);
+    month_name VARCHAR(20);
+    institution_name VARCHAR(255) := 'Rwanda Government';
+    message_text TEXT;
+BEGIN
+    -- Only proceed if status is changed to 'PAID'
+    IF NEW.status = 'PAID' AND (OLD.status IS NULL OR OLD.status <> 'PAID') THEN
+        -- Get employee first name
+        SELECT first_name INTO employee_first_name
+        FROM employees
+        WHERE id = NEW.employee_id;
+
+        -- Get month name
+        CASE NEW.month
+            WHEN 1 THEN month_name := 'JANUARY';
+            WHEN 2 THEN month_name := 'FEBRUARY';
+            WHEN 3 THEN month_name := 'MARCH';
+            WHEN 4 THEN month_name := 'APRIL';
+            WHEN 5 THEN month_name := 'MAY';
+            WHEN 6 THEN month_name := 'JUNE';
+            WHEN 7 THEN month_name := 'JULY';
+            WHEN 8 THEN month_name := 'AUGUST';
+            WHEN 9 THEN month_name := 'SEPTEMBER';
+            WHEN 10 THEN month_name := 'OCTOBER';
+            WHEN 11 THEN month_name := 'NOVEMBER';
+            WHEN 12 THEN month_name := 'DECEMBER';
+            ELSE month_name := 'UNKNOWN';
+        END CASE;
+
+        -- Create message text
+        message_text := 'Dear ' || employee_first_name || ', your salary for ' || month_name || '/' || NEW.year ||
+                        ' from ' || institution_name || ' amounting to ' || NEW.net_salary ||
+                        ' has been credited to your account successfully.';
+
+        -- Insert message
+        INSERT INTO messages (id, employee_id, message, month, year, created_at, sent)
+        VALUES (uuid_generate_v7(), NEW.employee_id, message_text, NEW.month, NEW.year, NOW(), FALSE);
+    END IF;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,5 @@
+-- Business codes are a 3-letter prefix plus 4 base36 digits (VARCHAR(7)), numbered from these sequences.
+-- Each nextval reserves a block of 50 that the application hands out from memory (see SequenceCodeGenerator).
+CREATE SEQUENCE IF NOT EXISTS employee_code_seq START WITH 50 INCREMENT BY 50 MINVALUE 50 MAXVALUE 1679615 NO CYCLE;
+CREATE SEQUENCE IF NOT EXISTS employment_code_seq START WITH 50 INCREMENT BY 50 MINVALUE 50 MAXVALUE 1679615 NO CYCLE;
+CREATE SEQUENCE IF NOT EXISTS deduction_code_seq START WITH 50 INCREMENT BY 50 MINVALUE 50 MAXVALUE 1679615 NO CYCLE;
@@ -0,0 +1,65 @@
+-- Range-partition payslips by year so month/year queries only touch that year's partition.
+-- Postgres requires the partition key in every unique constraint, so the primary key becomes (id, year);
+-- the (employee_id, month, year) unique index already contains it and is kept per partition.
+CREATE TABLE payslips_partitioned
+(
+    id                       UUID         NOT NULL,
+    employee_id              UUID         NOT NULL,
+    house_amount             DECIMAL(19, 2) NOT NULL,
+    transport_amount         DECIMAL(19, 2) NOT NULL,
+    employee_taxed_amount    DECIMAL(19, 2) NOT NULL,
+    pension_amount           DECIMAL(19, 2) NOT NULL,
+    medical_insurance_amount DECIMAL(19, 2) NOT NULL,
+    other_taxed_amount       DECIMAL(19, 2) NOT NULL,
+    gross_salary             DECIMAL(19, 2) NOT NULL,
+    net_salary               DECIMAL(19, 2) NOT NULL,
+    month                    INTEGER      NOT NULL,
+    year                     INTEGER      NOT NULL,
+    status                   VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_payslips_partitioned PRIMARY KEY (id, year)
+) PARTITION BY RANGE (year);
+
+-- Creates the partition for a year unless it exists; returns true when it was created.
+-- Called by the application at startup, daily, and before inserting into a year it has not seen yet.
+CREATE OR REPLACE FUNCTION ensure_payslip_partition(p_year INTEGER)
+RETURNS BOOLEAN AS $$
+DECLARE
+    partition_name TEXT := 'payslips_' || p_year;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF payslips FOR VALUES FROM (%s) TO (%s)',
+                   partition_name, p_year, p_year + 1);
+    RETURN TRUE;
+EXCEPTION
+    -- Another node created it first
+    WHEN duplicate_table THEN
+        RETURN FALSE;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER payslip_approval_trigger ON payslips;
+ALTER TABLE payslips RENAME TO payslips_unpartitioned;
+ALTER TABLE payslips_partitioned RENAME TO payslips;
+
+SELECT ensure_payslip_partition(year) FROM (SELECT DISTINCT year FROM payslips_unpartitioned) existing_years;
+SELECT ensure_payslip_partition(CAST(extract(YEAR FROM now()) AS INTEGER));
+SELECT ensure_payslip_partition(CAST(extract(YEAR FROM now()) AS INTEGER) + 1);
+
+INSERT INTO payslips
+SELECT id, employee_id, house_amount, transport_amount, employee_taxed_amount, pension_amount,
+       medical_insurance_amount, other_taxed_amount, gross_salary, net_salary, month, year, status
+FROM payslips_unpartitioned;
+
+DROP TABLE payslips_unpartitioned;
+
+ALTER TABLE payslips RENAME CONSTRAINT pk_payslips_partitioned TO pk_payslips;
+CREATE UNIQUE INDEX idx_payslip_employee_month_year ON payslips (employee_id, month, year);
+ALTER TABLE payslips
+    ADD CONSTRAINT fk_payslips_on_employee FOREIGN KEY (employee_id) REFERENCES employees (id);
+
+CREATE TRIGGER payslip_approval_trigger
+    AFTER INSERT OR UPDATE ON payslips
+    FOR EACH ROW
+    EXECUTE FUNCTION create_payslip_approval_message();
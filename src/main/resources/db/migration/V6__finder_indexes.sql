@@ -0,0 +1,28 @@
+-- Indexes matched to the repository finders (FinderIndexUsageTests runs EXPLAIN for each of them)
+
+-- PayslipRepository.findByMonthAndYear / findByMonthAndYearAndStatus
+CREATE INDEX idx_payslip_year_month_status ON payslips (year, month, status);
+-- Payroll approval only ever looks for the PENDING payslips of a month, which stay a small slice of the table
+CREATE INDEX idx_payslip_pending_year_month ON payslips (year, month) WHERE status = 'PENDING';
+-- PayslipRepository.findByStatus / findByStatusAndYear
+CREATE INDEX idx_payslip_status_year ON payslips (status, year);
+-- findByEmployee* use the leading employee_id of idx_payslip_employee_month_year
+
+-- EmploymentRepository.findByEmployee / findByEmployeeAndStatus / findAllByEmployeeAndStatusOrderByJoiningDateDesc,
+-- ordered like the finder so the newest employment is read first without a sort
+CREATE INDEX idx_employment_employee_status_joining ON employments (employee_id, status, joining_date DESC);
+-- Covered by the index above
+DROP INDEX idx_employment_employee_id;
+-- EmploymentRepository.findByStatus / findAllWithEmployeeByStatusOrderByJoiningDateDesc
+CREATE INDEX idx_employment_status_joining ON employments (status, joining_date DESC);
+
+-- EmployeeRepository.findByStatus
+CREATE INDEX idx_employee_status ON employees (status);
+
+-- MessageRepository.findByEmployee / findByEmployeeAndMonthAndYear / findByEmployeeAndSent
+CREATE INDEX idx_message_employee_year_month ON messages (employee_id, year, month);
+-- MessageRepository.findByMonthAndYear
+CREATE INDEX idx_message_year_month ON messages (year, month);
+-- MessageRepository.findBySent(false): the outbox of messages still to be mailed. Sent messages are
+-- nearly the whole table, where a sequential scan is the right plan, so they are left out of the index.
+CREATE INDEX idx_message_unsent ON messages (created_at) WHERE sent = false;
@@ -0,0 +1,97 @@
+-- Department the employee worked in when the payslip was issued, so totals per department do not shift
+-- when someone changes department later. Existing payslips take the current (or latest) employment's.
+ALTER TABLE payslips ADD COLUMN department VARCHAR(255);
+
+UPDATE payslips p
+SET department = coalesce((SELECT e.department
+                           FROM employments e
+                           WHERE e.employee_id = p.employee_id
+                           ORDER BY e.status = 'ACTIVE' DESC, e.joining_date DESC
+                           LIMIT 1), 'UNASSIGNED');
+
+ALTER TABLE payslips ALTER COLUMN department SET NOT NULL;
+
+-- Month totals read by finance dashboards, one row per month/year/status/department
+CREATE TABLE payroll_summary
+(
+    year                     INTEGER      NOT NULL,
+    month                    INTEGER      NOT NULL,
+    status                   VARCHAR(255) NOT NULL,
+    department               VARCHAR(255) NOT NULL,
+    headcount                INTEGER      NOT NULL,
+    gross_total              DECIMAL(19, 2) NOT NULL,
+    net_total                DECIMAL(19, 2) NOT NULL,
+    tax_total                DECIMAL(19, 2) NOT NULL,
+    pension_total            DECIMAL(19, 2) NOT NULL,
+    medical_insurance_total  DECIMAL(19, 2) NOT NULL,
+    other_taxed_total        DECIMAL(19, 2) NOT NULL,
+    CONSTRAINT pk_payroll_summary PRIMARY KEY (year, month, status, department)
+);
+
+INSERT INTO payroll_summary
+SELECT year, month, status, department, count(*), sum(gross_salary), sum(net_salary), sum(employee_taxed_amount),
+       sum(pension_amount), sum(medical_insurance_amount), sum(other_taxed_amount)
+FROM payslips
+GROUP BY year, month, status, department;
+
+-- Adds (sign = 1) or removes (sign = -1) one payslip from its summary row, dropping rows that become empty.
+-- Takes columns rather than a payslips row: trigger rows on a partitioned table have the partition's row type.
+CREATE OR REPLACE FUNCTION apply_payroll_summary_delta(p_year INTEGER, p_month INTEGER, p_status VARCHAR,
+                                                       p_department VARCHAR, sign INTEGER,
+                                                       p_gross DECIMAL, p_net DECIMAL, p_tax DECIMAL,
+                                                       p_pension DECIMAL, p_medical DECIMAL, p_other DECIMAL)
+RETURNS VOID AS $$
+BEGIN
+    INSERT INTO payroll_summary AS s
+    VALUES (p_year, p_month, p_status, p_department, sign,
+            sign * p_gross, sign * p_net, sign * p_tax, sign * p_pension, sign * p_medical, sign * p_other)
+    ON CONFLICT (year, month, status, department) DO UPDATE
+        SET headcount               = s.headcount + EXCLUDED.headcount,
+            gross_total             = s.gross_total + EXCLUDED.gross_total,
+            net_total               = s.net_total + EXCLUDED.net_total,
+            tax_total               = s.tax_total + EXCLUDED.tax_total,
+            pension_total           = s.pension_total + EXCLUDED.pension_total,
+            medical_insurance_total = s.medical_insurance_total + EXCLUDED.medical_insurance_total,
+            other_taxed_total       = s.other_taxed_total + EXCLUDED.other_taxed_total;
+
+    IF sign < 0 THEN
+        DELETE FROM payroll_summary
+        WHERE year = p_year AND month = p_month AND status = p_status AND department = p_department
+          AND headcount = 0;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Keeps payroll_summary in step with every payslip insert, recalculation, approval and delete,
+-- in the same transaction as the change itself
+CREATE OR REPLACE FUNCTION maintain_payroll_summary()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- Hibernate writes every column on update, skip the ones that leave the totals unchanged
+    IF TG_OP = 'UPDATE'
+        AND (OLD.year, OLD.month, OLD.status, OLD.department, OLD.gross_salary, OLD.net_salary,
+             OLD.employee_taxed_amount, OLD.pension_amount, OLD.medical_insurance_amount, OLD.other_taxed_amount)
+        IS NOT DISTINCT FROM
+            (NEW.year, NEW.month, NEW.status, NEW.department, NEW.gross_salary, NEW.net_salary,
+             NEW.employee_taxed_amount, NEW.pension_amount, NEW.medical_insurance_amount, NEW.other_taxed_amount) THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM apply_payroll_summary_delta(OLD.year, OLD.month, OLD.status, OLD.department, -1,
+                                            OLD.gross_salary, OLD.net_salary, OLD.employee_taxed_amount,
+                                            OLD.pension_amount, OLD.medical_insurance_amount, OLD.other_taxed_amount);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM apply_payroll_summary_delta(NEW.year, NEW.month, NEW.status, NEW.department, 1,
+                                            NEW.gross_salary, NEW.net_salary, NEW.employee_taxed_amount,
+                                            NEW.pension_amount, NEW.medical_insurance_amount, NEW.other_taxed_amount);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER payroll_summary_trigger
+    AFTER INSERT OR UPDATE OR DELETE ON payslips
+    FOR EACH ROW
+    EXECUTE FUNCTION maintain_payroll_summary();
@@ -0,0 +1,12 @@
+-- An employee has at most one ACTIVE employment, so the current employment is a single indexed row.
+-- Where several are active today the most recent one (as getCurrentEmployment returned) stays active.
+UPDATE employments e
+SET status = 'INACTIVE'
+WHERE e.status = 'ACTIVE'
+  AND EXISTS (SELECT 1
+              FROM employments newer
+              WHERE newer.employee_id = e.employee_id
+                AND newer.status = 'ACTIVE'
+                AND (newer.joining_date, newer.id) > (e.joining_date, e.id));
+
+CREATE UNIQUE INDEX idx_employment_one_active_per_employee ON employments (employee_id) WHERE status = 'ACTIVE';
@@ -0,0 +1,15 @@
+-- Position the employee held when the payslip was issued, so cost per position does not shift when someone is
+-- promoted later. Existing payslips take the employment the employee had joined by the end of that month,
+-- falling back to the current (or latest) one.
+ALTER TABLE payslips ADD COLUMN position VARCHAR(255);
+
+UPDATE payslips p
+SET position = coalesce((SELECT e.position
+                         FROM employments e
+                         WHERE e.employee_id = p.employee_id
+                         ORDER BY e.joining_date < make_date(p.year, p.month, 1) + INTERVAL '1 month' DESC,
+                                  e.joining_date DESC,
+                                  e.status = 'ACTIVE' DESC
+                         LIMIT 1), 'UNASSIGNED');
+
+ALTER TABLE payslips ALTER COLUMN position SET NOT NULL;
@@ -0,0 +1,28 @@
+-- Consumes a refresh session, marks its token as used and checks its family, atomically in a single round trip,
+-- so a token presented twice at the same moment is always caught by one of the two calls.
+-- KEYS[1]: session key of the presented token
+-- KEYS[2]: used marker of the presented token
+-- ARGV[1]: presented token id
+-- ARGV[2]: used marker and session ttl in milliseconds
+-- ARGV[3]: family key prefix, ARGV[4]: session key prefix (the family is only known once the session is read)
+-- Returns {'valid', session json}, {'ended'} when the family was ended, {'reused', family id} when a consumed
+-- token came back (its family is ended) or {'unknown'}.
+local json = redis.call('GETDEL', KEYS[1])
+if not json then
+    local family_id = redis.call('GET', KEYS[2])
+    if not family_id then
+        return {'unknown'}
+    end
+    local current = redis.call('GETDEL', ARGV[3] .. family_id)
+    if current then
+        redis.call('DEL', ARGV[4] .. current)
+    end
+    return {'reused', family_id}
+end
+
+local family_id = cjson.decode(json)['familyId']
+redis.call('SET', KEYS[2], family_id, 'PX', ARGV[2])
+if redis.call('GET', ARGV[3] .. family_id) ~= ARGV[1] then
+    return {'ended'}
+end
+return {'valid', json}
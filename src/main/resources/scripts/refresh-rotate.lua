@@ -0,0 +1,15 @@
+-- Stores the session of a rotated refresh token, unless its family was ended since the previous token was
+-- consumed (reuse detected, logout); a separate check and write would bring an ended family back.
+-- KEYS[1]: family key
+-- KEYS[2]: session key of the new token
+-- ARGV[1]: consumed token id, the one the family must still point at
+-- ARGV[2]: new token id
+-- ARGV[3]: session json
+-- ARGV[4]: ttl in milliseconds
+-- Returns 1 when stored, 0 when the family was ended.
+if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+    return 0
+end
+redis.call('SET', KEYS[2], ARGV[3], 'PX', ARGV[4])
+redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[4])
+return 1
@@ -0,0 +1,40 @@
+-- Token bucket over one or more keys, checked and updated atomically in a single round trip.
+-- KEYS:    one bucket per rate-limit key (IP, email, ...)
+-- ARGV[1]: bucket capacity
+-- ARGV[2]: tokens refilled per millisecond
+-- ARGV[3..]: tokens each bucket already granted locally since its last check, deducted first
+-- Returns {allowed (1 or 0), remaining tokens per key...}; a token is taken from every bucket only if all have one.
+local capacity = tonumber(ARGV[1])
+local refill_per_ms = tonumber(ARGV[2])
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local ttl = math.ceil(capacity / refill_per_ms)
+
+local tokens = {}
+local allowed = 1
+for i, key in ipairs(KEYS) do
+    local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+    local current = tonumber(bucket[1])
+    local ts = tonumber(bucket[2])
+    if current == nil then
+        current = capacity
+        ts = now
+    end
+    current = math.min(capacity, current + math.max(0, now - ts) * refill_per_ms)
+    current = math.max(0, current - tonumber(ARGV[2 + i]))
+    if current < 1 then
+        allowed = 0
+    end
+    tokens[i] = current
+end
+
+local result = {allowed}
+for i, key in ipairs(KEYS) do
+    if allowed == 1 then
+        tokens[i] = tokens[i] - 1
+    end
+    redis.call('HSET', key, 'tokens', tostring(tokens[i]), 'ts', tostring(now))
+    redis.call('PEXPIRE', key, ttl)
+    result[i + 1] = math.floor(tokens[i])
+end
+return result
@@ -0,0 +1,240 @@
+package com.ne.rra_vehicle_ms;
+
+import com.ne.rra_vehicle_ms.employee.entities.Employee;
+import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
+import com.ne.rra_vehicle_ms.employee.repositories.EmployeeRepository;
+import com.ne.rra_vehicle_ms.employment.entities.EmploymentStatus;
+import com.ne.rra_vehicle_ms.employment.repositories.EmploymentRepository;
+import com.ne.rra_vehicle_ms.message.repositories.MessageRepository;
+import com.ne.rra_vehicle_ms.payslip.entities.PayslipStatus;
+import com.ne.rra_vehicle_ms.payslip.repositories.PayslipRepository;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Calls each repository finder with the arguments production passes, captures the SQL Hibernate actually
+// sends (with its bind values, through the datasource proxy) and fails when the plan reads the table the
+// finder filters on with a sequential scan, i.e. when the index it relies on is missing or unusable.
+// The planner is left alone and the seed is shaped like production data: years of employment history with
+// one active row per current employee, former employees, two years of payslips (one pending month) and
+// mostly sent messages. Shapes that return most of a table, such as every ACTIVE employee for the cache
+// warm-up or every PAID payslip, are answered best by a sequential scan and are not checked here.
+// Everything is rolled back after each test.
+@SpringBootTest
+@Transactional
+class FinderIndexUsageTests {
+    private static final int CURRENT_EMPLOYEES = 2_000;
+    private static final int FORMER_EMPLOYEES = 200;
+    private static final int PAST_EMPLOYMENTS = 9;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PayslipRepository payslipRepository;
+
+    @Autowired
+    private EmploymentRepository employmentRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    private Employee employee;
+    private int year;
+
+    @BeforeEach
+    void seed() {
+        // Codes are VARCHAR(7): a one-letter prefix the generated three-letter codes never use, plus six digits
+        // Last year is complete: December is still pending, messages up to October have been sent
+        year = Year.now().getValue() - 1;
+        jdbcTemplate.queryForObject("select ensure_payslip_partition(?)", Boolean.class, year - 1);
+        jdbcTemplate.queryForObject("select ensure_payslip_partition(?)", Boolean.class, year);
+
+        jdbcTemplate.update("""
+                insert into employees (id, code, first_name, last_name, email, password, role, mobile, date_of_birth, status)
+                select gen_random_uuid(), 'T' || lpad(i::text, 6, '0'), 'Seed', 'Employee' || i, 'seed' || i || '@index.test',
+                       'x', 'ROLE_EMPLOYEE', '+2507' || lpad(i::text, 8, '0'), date '1990-01-01',
+                       case when i > ? then 'DISABLED' else 'ACTIVE' end
+                from generate_series(1, ?) i
+                """, CURRENT_EMPLOYEES, CURRENT_EMPLOYEES + FORMER_EMPLOYEES);
+        jdbcTemplate.update("""
+                insert into employments (id, code, employee_id, department, position, base_salary, status, joining_date)
+                select gen_random_uuid(), 'H' || lpad(row_number() over ()::text, 6, '0'), e.id, 'Finance', 'Officer', 400000,
+                       'INACTIVE', make_date(2010 + h, 1, 1)
+                from employees e cross join generate_series(1, ?) h
+                where e.email like 'seed%@index.test'
+                """, PAST_EMPLOYMENTS);
+        jdbcTemplate.update("""
+                insert into employments (id, code, employee_id, department, position, base_salary, status, joining_date)
+                select gen_random_uuid(), 'A' || lpad(row_number() over ()::text, 6, '0'), e.id, 'Finance', 'Senior Officer', 500000,
+                       'ACTIVE', make_date(2010 + ? + 1, 1, 1)
+                from employees e
+                where e.email like 'seed%@index.test' and e.status = 'ACTIVE'
+                """, PAST_EMPLOYMENTS);
+        jdbcTemplate.update("""
+                insert into payslips (id, employee_id, house_amount, transport_amount, employee_taxed_amount, pension_amount,
+                                      medical_insurance_amount, other_taxed_amount, gross_salary, net_salary, month, year, status,
+                                      department, position)
+                select gen_random_uuid(), e.id, 0, 0, 0, 0, 0, 0, 500000, 400000, m, y,
+                       case when y = ? and m = 12 then 'PENDING' else 'PAID' end, 'Finance', 'Senior Officer'
+                from employees e cross join generate_series(?, ?) y cross join generate_series(1, 12) m
+                where e.email like 'seed%@index.test' and e.status = 'ACTIVE'
+                """, year, year - 1, year);
+        jdbcTemplate.update("""
+                update messages set sent = true
+                where (year < ? or month < 11) and employee_id in (select id from employees where email like 'seed%@index.test')
+                """, year);
+        jdbcTemplate.execute("analyze employees, employments, payslips, messages");
+
+        employee = employeeRepository.findByEmail("seed1@index.test").orElseThrow();
+    }
+
+    @Test
+    void payslipFindersUseAnIndex() {
+        assertUsesIndex("PayslipRepository.findByEmployee", "payslips",
+                () -> payslipRepository.findByEmployee(employee));
+        assertUsesIndex("PayslipRepository.findByEmployeeAndStatus", "payslips",
+                () -> payslipRepository.findByEmployeeAndStatus(employee, PayslipStatus.PENDING));
+        assertUsesIndex("PayslipRepository.findByEmployeeAndYear", "payslips",
+                () -> payslipRepository.findByEmployeeAndYear(employee, year));
+        assertUsesIndex("PayslipRepository.findByStatus", "payslips",
+                () -> payslipRepository.findByStatus(PayslipStatus.PENDING));
+        assertUsesIndex("PayslipRepository.findByStatusAndYear", "payslips",
+                () -> payslipRepository.findByStatusAndYear(PayslipStatus.PENDING, year));
+        assertUsesIndex("PayslipRepository.findByMonthAndYear", "payslips",
+                () -> payslipRepository.findByMonthAndYear(6, year));
+        assertUsesIndex("PayslipRepository.findByMonthAndYearAndStatus", "payslips",
+                () -> payslipRepository.findByMonthAndYearAndStatus(12, year, PayslipStatus.PENDING));
+        assertUsesIndex("PayslipRepository.findEmployeeIdsByMonthAndYear", "payslips",
+                () -> payslipRepository.findEmployeeIdsByMonthAndYear(6, year));
+        assertUsesIndex("PayslipRepository.findByEmployeeAndMonthAndYear", "payslips",
+                () -> payslipRepository.findByEmployeeAndMonthAndYear(employee, 6, year));
+        assertUsesIndex("PayslipRepository.existsByEmployeeAndMonthAndYear", "payslips",
+                () -> payslipRepository.existsByEmployeeAndMonthAndYear(employee, 6, year));
+    }
+
+    @Test
+    void employmentFindersUseAnIndex() {
+        assertUsesIndex("EmploymentRepository.findByEmployee", "employments",
+                () -> employmentRepository.findByEmployee(employee));
+        assertUsesIndex("EmploymentRepository.existsByEmployeeAndStatus", "employments",
+                () -> employmentRepository.existsByEmployeeAndStatus(employee, EmploymentStatus.ACTIVE));
+        assertUsesIndex("EmploymentRepository.findWithEmployeeByEmployeeIdAndStatus", "employments",
+                () -> employmentRepository.findWithEmployeeByEmployeeIdAndStatus(employee.getId(), EmploymentStatus.ACTIVE));
+        // The current employment of everyone (cache fill) and of every active employee (payroll run): one active
+        // row per employee among years of history. Nearly every employee row is needed, so only employments is checked.
+        assertUsesIndex("EmploymentRepository.findAllWithEmployeeByStatus", "employments",
+                () -> employmentRepository.findAllWithEmployeeByStatus(EmploymentStatus.ACTIVE));
+        assertUsesIndex("EmploymentRepository.findAllWithEmployeeByStatusAndEmployeeStatus", "employments",
+                () -> employmentRepository.findAllWithEmployeeByStatusAndEmployeeStatus(EmploymentStatus.ACTIVE, EmployeeStatus.ACTIVE));
+    }
+
+    @Test
+    void messageFindersUseAnIndex() {
+        assertUsesIndex("MessageRepository.findByEmployee", "messages",
+                () -> messageRepository.findByEmployee(employee));
+        assertUsesIndex("MessageRepository.findByEmployeeAndMonthAndYear", "messages",
+                () -> messageRepository.findByEmployeeAndMonthAndYear(employee, 6, year));
+        assertUsesIndex("MessageRepository.findByMonthAndYear", "messages",
+                () -> messageRepository.findByMonthAndYear(6, year));
+        assertUsesIndex("MessageRepository.findBySent", "messages",
+                () -> messageRepository.findBySent(false));
+    }
+
+    private void assertUsesIndex(String finder, String table, Runnable call) {
+        List<String> statements = statementCapture.capture(call);
+        assertThat(statements).as("%s ran no SQL", finder).isNotEmpty();
+        for (String sql : statements) {
+            List<String> plan = jdbcTemplate.queryForList("explain " + sql, String.class);
+            assertThat(plan)
+                    .as("%s should read %s through an index, sql:%n%s%nplan:%n%s", finder, table, sql,
+                            String.join(System.lineSeparator(), plan))
+                    .noneMatch(line -> line.contains("Seq Scan on " + table));
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+        @Bean
+        StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+    }
+
+    // Records the statements run on the calling thread while capturing, with the bind values inlined so the
+    // statement can be explained as the database saw it
+    static class StatementCapture implements QueryExecutionListener {
+        private final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+        List<String> capture(Runnable call) {
+            List<String> statements = new ArrayList<>();
+            captured.set(statements);
+            try {
+                call.run();
+            } finally {
+                captured.remove();
+            }
+            return statements;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            List<String> statements = captured.get();
+            if (statements != null) {
+                queryInfoList.forEach(queryInfo -> statements.add(inline(queryInfo)));
+            }
+        }
+
+        private static String inline(QueryInfo queryInfo) {
+            if (queryInfo.getParametersList().isEmpty()) {
+                return queryInfo.getQuery();
+            }
+            List<ParameterSetOperation> parameters = new ArrayList<>(queryInfo.getParametersList().get(0));
+            parameters.sort(Comparator.comparingInt(parameter -> (Integer) parameter.getArgs()[0]));
+            StringBuilder sql = new StringBuilder();
+            int next = 0;
+            for (char c : queryInfo.getQuery().toCharArray()) {
+                if (c == '?' && next < parameters.size()) {
+                    sql.append(literal(parameters.get(next++)));
+                } else {
+                    sql.append(c);
+                }
+            }
+            return sql.toString();
+        }
+
+        // Untyped quoted literals, Postgres casts them to the column type as it does with bind parameters
+        private static String literal(ParameterSetOperation parameter) {
+            if ("setNull".equals(parameter.getMethod().getName())) {
+                return "null";
+            }
+            return "'" + String.valueOf(parameter.getArgs()[1]).replace("'", "''") + "'";
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ne.rra_vehicle_ms;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Year;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Calls the endpoints that declare a @SqlStatementBudget with budgets enforced, so a request running more
+// statements than its budget (an N+1 in the mapping, a lazy association, an extra lookup) throws
+// SqlStatementBudgetExceededException out of MockMvc and fails the test. Seeded rows are rolled back.
+@SpringBootTest(properties = "app.sql.enforce-budgets=true")
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser(roles = "ADMIN")
+class SqlStatementBudgetTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void currentEmploymentRunsOneStatement() throws Exception {
+        // A fresh employee, so the current employment cache cannot answer without the database
+        UUID employeeId = UUID.randomUUID();
+        String suffix = employeeId.toString().substring(0, 8);
+        // Codes are VARCHAR(7): a one-letter prefix the generated codes never use, plus six random hex digits
+        String code = suffix.substring(0, 6);
+        jdbcTemplate.update("""
+                insert into employees (id, code, first_name, last_name, email, password, role, mobile, date_of_birth, status)
+                values (?, ?, 'Budget', 'Employee', ?, 'x', 'ROLE_EMPLOYEE', ?, date '1990-01-01', 'ACTIVE')
+                """, employeeId, "B" + code, "budget-" + suffix + "@budget.test", "+250" + suffix);
+        jdbcTemplate.update("""
+                insert into employments (id, code, employee_id, department, position, base_salary, status, joining_date)
+                values (gen_random_uuid(), ?, ?, 'Finance', 'Officer', 500000, 'ACTIVE', date '2020-01-01')
+                """, "Y" + code, employeeId);
+
+        mockMvc.perform(get("/api/v1/employments/employee/{employeeId}/current", employeeId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.department").value("Finance"));
+
+        assertThat(statementsOf("/api/v1/employments/employee/{employeeId}/current")).isEqualTo(1);
+    }
+
+    @Test
+    void payrollSummaryRunsOneStatement() throws Exception {
+        int year = Year.now().getValue();
+
+        mockMvc.perform(get("/api/v1/payslips/summary/year/{year}", year))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/payslips/summary/year/{year}", year).param("month", "1"))
+                .andExpect(status().isOk());
+
+        assertThat(statementsOf("/api/v1/payslips/summary/year/{year}")).isEqualTo(1);
+    }
+
+    private double statementsOf(String uri) {
+        DistributionSummary summary = meterRegistry.get("http.server.requests.db.statements")
+                .tags("method", "GET", "uri", uri)
+                .summary();
+        return summary.max();
+    }
+}
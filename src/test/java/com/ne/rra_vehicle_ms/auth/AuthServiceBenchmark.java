@@ -0,0 +1,127 @@
+package com.ne.rra_vehicle_ms.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ne.rra_vehicle_ms.auth.dtos.LoginRequestDto;
+import com.ne.rra_vehicle_ms.employee.dtos.EmployeeCredentials;
+import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
+import com.ne.rra_vehicle_ms.employee.services.EmployeeUserDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Throughput of AuthService.login and refreshAccessToken, i.e. of issuing, signing and storing the tokens.
+// The password check is stubbed out (BCrypt is a fixed cost of its own) and Redis is replaced by an in-memory
+// map, so the numbers show what the service itself costs per call.
+// Run main() on the test classpath after mvn test-compile; it is not part of the test suite.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthServiceBenchmark {
+    private ExecutorService loginExecutor;
+    private AuthService authService;
+    private LoginRequestDto loginRequest;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        TokenSubject subject = JwtFixtures.subject(1);
+        EmployeeUserDetails principal = new EmployeeUserDetails(new EmployeeCredentials(
+                subject.id(), subject.email(), "{noop}password", subject.phoneNumber(), subject.role(), EmployeeStatus.ACTIVE));
+        JwtConfig jwtConfig = JwtFixtures.jwtConfig(10_000);
+
+        loginExecutor = Executors.newSingleThreadExecutor();
+        authService = new AuthService(
+                authentication -> UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()),
+                new CurrentUserContext(null),
+                new JwtService(jwtConfig),
+                new TokenRevocationService(null, new TokenRevocationConfig()),
+                new RefreshSessionStore(inMemoryValueOperations(), new ObjectMapper(), jwtConfig),
+                loginExecutor);
+        loginRequest = new LoginRequestDto(subject.email(), "password");
+        refreshToken = authService.login(loginRequest).join().refreshToken().toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+        loginExecutor.shutdown();
+    }
+
+    @Benchmark
+    public IssuedTokens login() {
+        return authService.login(loginRequest).join();
+    }
+
+    // Each refresh consumes the presented token, so the next call presents the rotated one, as a client does
+    @Benchmark
+    public IssuedTokens refreshAccessToken() {
+        IssuedTokens tokens = authService.refreshAccessToken(refreshToken);
+        refreshToken = tokens.refreshToken().toString();
+        return tokens;
+    }
+
+    // Just the operations RefreshSessionStore uses on the happy path; its scripts are replayed in Java
+    // for a token that is presented once and a family that is never ended
+    @SuppressWarnings("unchecked")
+    private static ValueOperations<String, String> inMemoryValueOperations() {
+        Map<String, String> values = new ConcurrentHashMap<>();
+        RedisOperations<String, String> operations = (RedisOperations<String, String>) Proxy.newProxyInstance(
+                RedisOperations.class.getClassLoader(),
+                new Class<?>[]{RedisOperations.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("execute") || args.length != 3) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    List<String> keys = (List<String>) args[1];
+                    Object[] scriptArgs = (Object[]) args[2];
+                    if (args[0] == RefreshSessionStore.CONSUME_SESSION) {
+                        String json = values.remove(keys.get(0));
+                        return json == null ? List.of("unknown") : List.of("valid", json);
+                    }
+                    values.put(keys.get(1), (String) scriptArgs[2]);
+                    values.put(keys.get(0), (String) scriptArgs[1]);
+                    return 1L;
+                });
+        return (ValueOperations<String, String>) Proxy.newProxyInstance(
+                ValueOperations.class.getClassLoader(),
+                new Class<?>[]{ValueOperations.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "set" -> {
+                        values.put((String) args[0], (String) args[1]);
+                        yield null;
+                    }
+                    case "get" -> values.get((String) args[0]);
+                    case "getAndDelete" -> values.remove((String) args[0]);
+                    case "getOperations" -> operations;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuthServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
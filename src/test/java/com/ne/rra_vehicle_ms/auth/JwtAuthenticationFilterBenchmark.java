@@ -0,0 +1,82 @@
+package com.ne.rra_vehicle_ms.auth;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Time JwtAuthenticationFilter spends on an authenticated request: a client reusing its access token (verified
+// token cache hit) against one presenting a token the node has not verified yet (full signature check).
+// The revocation bloom filter is empty, as it is for almost every token, so Redis is never reached.
+// Run main() on the test classpath after mvn test-compile; it is not part of the test suite.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+    // Far more distinct tokens than the verified token cache holds, so the unverified case almost never hits it
+    private static final int UNVERIFIED_TOKENS = 20_000;
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"verified", "unverified"})
+    public String token;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest[] requests;
+    private MockHttpServletResponse response;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(JwtFixtures.jwtConfig(1_000));
+        filter = new JwtAuthenticationFilter(
+                jwtService,
+                new TokenRevocationService(null, new TokenRevocationConfig()),
+                new CurrentUserContext(null),
+                (request, response, authException) -> {
+                    throw new IllegalStateException("Token rejected: " + authException.getMessage());
+                });
+
+        requests = new MockHttpServletRequest["verified".equals(token) ? 1 : UNVERIFIED_TOKENS];
+        for (int i = 0; i < requests.length; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/payslips/my");
+            request.addHeader("Authorization", "Bearer " + jwtService.generateAccessToken(JwtFixtures.subject(i)));
+            requests[i] = request;
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void authenticate() throws ServletException, IOException {
+        MockHttpServletRequest request = requests[next];
+        next = (next + 1) % requests.length;
+        // doFilterInternal directly: OncePerRequestFilter would skip a request object it has already seen
+        filter.doFilterInternal(request, response, NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtAuthenticationFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
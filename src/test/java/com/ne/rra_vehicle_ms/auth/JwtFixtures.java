@@ -0,0 +1,24 @@
+package com.ne.rra_vehicle_ms.auth;
+
+import com.ne.rra_vehicle_ms.employee.entities.Role;
+
+import java.util.UUID;
+
+// Production-like JWT settings and subjects for the auth benchmarks
+final class JwtFixtures {
+    private JwtFixtures() {
+    }
+
+    static JwtConfig jwtConfig(long verifiedTokenCacheSize) {
+        JwtConfig config = new JwtConfig();
+        config.setSecret("ed5504e833b6ec6d09aa2c0c67cc6f6d78d280fda58642eda32cca75804919c6");
+        config.setAccessTokenExpiration(900);
+        config.setRefreshTokenExpiration(604800);
+        config.setVerifiedTokenCacheSize(verifiedTokenCacheSize);
+        return config;
+    }
+
+    static TokenSubject subject(int i) {
+        return new TokenSubject(UUID.randomUUID(), "employee" + i + "@example.rw", "+25078%07d".formatted(i), Role.ROLE_EMPLOYEE);
+    }
+}
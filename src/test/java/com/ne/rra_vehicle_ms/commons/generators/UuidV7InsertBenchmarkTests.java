@@ -0,0 +1,122 @@
+package com.ne.rra_vehicle_ms.commons.generators;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Year;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Inserts 1M payslips keyed by random (v4) and by UuidV7Generator (v7) ids into two logged copies of the
+// payslips table (columns, defaults and every index, but no partitions, foreign keys or triggers) and reports
+// the insert rate, the WAL written and the size of the primary key and of all indexes. Random keys split pages
+// all over the B-tree, leave them half full and log a full page image for every page first touched after a
+// checkpoint; v7 keys append at the right edge, so their primary key index must not be larger.
+// The WAL figure is the server-wide LSN delta, so run it against a database nothing else is writing to.
+// Takes minutes against Postgres, so it only runs on request: mvn test -Dtest=UuidV7InsertBenchmarkTests -Dbenchmarks=true
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@Slf4j
+class UuidV7InsertBenchmarkTests {
+    private static final int ROWS = 1_000_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void v7KeysInsertIntoASmallerIndex() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try {
+                Result v4 = insert(connection, "uuid_v4_payslips", UUID::randomUUID);
+                Result v7 = insert(connection, "uuid_v7_payslips", UuidV7Generator::next);
+                log.info("v4: {}", v4);
+                log.info("v7: {}", v7);
+                assertThat(v7.primaryKeyBytes()).as("v4: %s%nv7: %s", v4, v7).isLessThanOrEqualTo(v4.primaryKeyBytes());
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("drop table if exists uuid_v4_payslips, uuid_v7_payslips");
+                }
+            }
+            return null;
+        });
+    }
+
+    private static Result insert(Connection connection, String table, Supplier<UUID> ids) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table " + table + " (like payslips including all)");
+        }
+        int year = Year.now().getValue();
+        String startLsn = currentWalLsn(connection);
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        long started = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement("insert into " + table
+                + " (id, employee_id, house_amount, transport_amount, employee_taxed_amount, pension_amount,"
+                + " medical_insurance_amount, other_taxed_amount, gross_salary, net_salary, month, year, status,"
+                + " department, position)"
+                + " values (?, ?, 0, 0, ?, ?, ?, 0, ?, ?, ?, ?, 'PAID', 'Finance', 'Officer')")) {
+            for (int i = 1; i <= ROWS; i++) {
+                BigDecimal grossSalary = BigDecimal.valueOf(400_000 + i % 100_000, 2);
+                insert.setObject(1, ids.get());
+                insert.setObject(2, UUID.randomUUID());
+                insert.setBigDecimal(3, grossSalary.multiply(BigDecimal.valueOf(30, 2)));
+                insert.setBigDecimal(4, grossSalary.multiply(BigDecimal.valueOf(6, 2)));
+                insert.setBigDecimal(5, grossSalary.multiply(BigDecimal.valueOf(5, 2)));
+                insert.setBigDecimal(6, grossSalary);
+                insert.setBigDecimal(7, grossSalary.multiply(BigDecimal.valueOf(59, 2)));
+                insert.setInt(8, i % 12 + 1);
+                insert.setInt(9, year);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        try (PreparedStatement sizes = connection.prepareStatement(
+                "select pg_wal_lsn_diff(pg_current_wal_lsn(), ?::pg_lsn), pg_relation_size(?::regclass),"
+                        + " pg_indexes_size(?::regclass)")) {
+            sizes.setString(1, startLsn);
+            sizes.setString(2, table + "_pkey");
+            sizes.setString(3, table);
+            try (ResultSet result = sizes.executeQuery()) {
+                result.next();
+                return new Result(ROWS / seconds, result.getLong(1), result.getLong(2), result.getLong(3));
+            }
+        }
+    }
+
+    private static String currentWalLsn(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet lsn = statement.executeQuery("select pg_current_wal_lsn()::text")) {
+            lsn.next();
+            return lsn.getString(1);
+        }
+    }
+
+    private record Result(double rowsPerSecond, long walBytes, long primaryKeyBytes, long indexBytes) {
+        @Override
+        public String toString() {
+            return String.format("%,.0f rows/s, WAL %,d kB, primary key index %,d kB, all indexes %,d kB",
+                    rowsPerSecond, walBytes / 1024, primaryKeyBytes / 1024, indexBytes / 1024);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ne.rra_vehicle_ms.config;
+
+import com.ne.rra_vehicle_ms.employee.dtos.EmployeeResponseDto;
+import com.ne.rra_vehicle_ms.employee.entities.EmployeeStatus;
+import com.ne.rra_vehicle_ms.employee.entities.Role;
+import com.ne.rra_vehicle_ms.employment.dtos.EmploymentResponseDto;
+import com.ne.rra_vehicle_ms.employment.entities.EmploymentStatus;
+import com.ne.rra_vehicle_ms.payslip.dtos.PayslipResponseDto;
+import com.ne.rra_vehicle_ms.payslip.entities.PayslipStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+// Cache values shaped like production ones, shared by the cache format test and benchmark
+final class CacheSamples {
+    private static final String[] DEPARTMENTS = {"Finance", "Operations", "Human Resources", "IT", "Procurement"};
+
+    private CacheSamples() {
+    }
+
+    // A PAYSLIPS_BY_MONTH entry: one payslip per employee
+    static List<PayslipResponseDto> payslipsOfMonth(int employees) {
+        Random random = new Random(42);
+        List<PayslipResponseDto> payslips = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            BigDecimal base = BigDecimal.valueOf(300_000 + random.nextInt(1_200_000));
+            BigDecimal house = percentOf(base, 5);
+            BigDecimal transport = percentOf(base, 14);
+            BigDecimal gross = base.add(house).add(transport);
+            BigDecimal tax = percentOf(base, 30);
+            BigDecimal pension = percentOf(base, 6);
+            BigDecimal medical = percentOf(base, 5);
+            BigDecimal others = percentOf(base, 5);
+            payslips.add(new PayslipResponseDto(UUID.randomUUID(), employee(i), house, transport, tax, pension, medical,
+                    others, gross, gross.subtract(tax).subtract(pension).subtract(medical).subtract(others),
+                    6, 2026, PayslipStatus.PENDING));
+        }
+        return payslips;
+    }
+
+    // A CURRENT_EMPLOYMENTS entry
+    static EmploymentResponseDto currentEmployment() {
+        return new EmploymentResponseDto(UUID.randomUUID(), "EMP0000017", employee(17), DEPARTMENTS[17 % DEPARTMENTS.length],
+                "Senior Officer", new BigDecimal("850000.00"), EmploymentStatus.ACTIVE, LocalDate.of(2021, 3, 1));
+    }
+
+    private static EmployeeResponseDto employee(int i) {
+        return new EmployeeResponseDto(UUID.randomUUID(), "EMP%07d".formatted(i), "First" + i, "Last" + i,
+                "employee" + i + "@example.rw", Role.ROLE_EMPLOYEE, "+25078%07d".formatted(i),
+                LocalDate.of(1980 + i % 20, 1 + i % 12, 1 + i % 28), EmployeeStatus.ACTIVE);
+    }
+
+    private static BigDecimal percentOf(BigDecimal amount, int percent) {
+        return amount.multiply(BigDecimal.valueOf(percent)).movePointLeft(2).setScale(2);
+    }
+}
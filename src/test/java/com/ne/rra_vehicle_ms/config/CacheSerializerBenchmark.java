@@ -0,0 +1,66 @@
+package com.ne.rra_vehicle_ms.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.ne.rra_vehicle_ms.commons.cache.CacheValueFormat;
+import com.ne.rra_vehicle_ms.commons.cache.SmileRedisSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+// Serialize and deserialize time of the JSON and Smile cache value formats (sizes: CacheValueFormatTests).
+// Run main() on the test classpath after mvn test-compile; it is not part of the test suite.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheSerializerBenchmark {
+    @Param({CacheNames.PAYSLIPS_BY_MONTH, CacheNames.CURRENT_EMPLOYMENTS})
+    public String cacheName;
+
+    @Param({"JSON", "SMILE"})
+    public CacheValueFormat format;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        JavaType type = RedisConfig.cacheValueTypes().get(cacheName);
+        serializer = format == CacheValueFormat.SMILE ? new SmileRedisSerializer<>(type) : RedisConfig.jsonSerializer();
+        value = CacheNames.PAYSLIPS_BY_MONTH.equals(cacheName)
+                ? CacheSamples.payslipsOfMonth(500)
+                : CacheSamples.currentEmployment();
+        bytes = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CacheSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
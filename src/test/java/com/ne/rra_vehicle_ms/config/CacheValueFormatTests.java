@@ -0,0 +1,41 @@
+package com.ne.rra_vehicle_ms.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.ne.rra_vehicle_ms.commons.cache.SmileRedisSerializer;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Bytes stored per cache entry in the JSON and Smile value formats, with the serializers RedisConfig uses.
+// Both must round-trip the value; Smile is expected to be the smaller one (the sizes are in the assertion
+// description). Times are measured by CacheSerializerBenchmark.
+class CacheValueFormatTests {
+
+    static Stream<Arguments> cacheValues() {
+        return Stream.of(
+                Arguments.of(CacheNames.PAYSLIPS_BY_MONTH, CacheSamples.payslipsOfMonth(500)),
+                Arguments.of(CacheNames.CURRENT_EMPLOYMENTS, CacheSamples.currentEmployment()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("cacheValues")
+    void smileStoresLessThanJson(String cacheName, Object value) {
+        JavaType type = RedisConfig.cacheValueTypes().get(cacheName);
+        GenericJackson2JsonRedisSerializer json = RedisConfig.jsonSerializer();
+        SmileRedisSerializer<Object> smile = new SmileRedisSerializer<>(type);
+
+        byte[] jsonBytes = json.serialize(value);
+        byte[] smileBytes = smile.serialize(value);
+
+        assertThat(json.deserialize(jsonBytes)).isEqualTo(value);
+        assertThat(smile.deserialize(smileBytes)).isEqualTo(value);
+        assertThat(smileBytes.length)
+                .as("%s: json %d bytes, smile %d bytes", cacheName, jsonBytes.length, smileBytes.length)
+                .isLessThan(jsonBytes.length);
+    }
+}